@@ -0,0 +1,93 @@
+package com.uca.scheduleapp.security;
+
+import com.uca.scheduleapp.model.User;
+import com.uca.scheduleapp.util.CacheRegistry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token cost in the JWT filter: reading the subject, then validating it against the
+ * loaded user. The uncached case is what the filter did before the claims cache, three full parses
+ * that each rebuilt the HMAC key and parser. The cold case is the first request with a token the
+ * cache has not seen, which should cost one HMAC check; the cached case is every later request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+    // Distinct tokens cycled by the cold case; four times the claims cache, so every lookup misses
+    private static final int COLD_TOKENS = 1 << 15;
+    private static final int CLAIMS_CACHE_SIZE = COLD_TOKENS / 4;
+
+    private JwtUtil jwtUtil;
+    private User user;
+    private String token;
+    private User[] coldUsers;
+    private String[] coldTokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "cacheRegistry", new CacheRegistry());
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheSize", CLAIMS_CACHE_SIZE);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheTtl", 300000L);
+        jwtUtil.init();
+
+        user = new User();
+        user.setUsername("student");
+        user.setEmail("student@example.com");
+        token = jwtUtil.generateToken(user);
+
+        coldUsers = new User[COLD_TOKENS];
+        coldTokens = new String[COLD_TOKENS];
+        for (int i = 0; i < COLD_TOKENS; i++) {
+            coldUsers[i] = new User();
+            coldUsers[i].setUsername("student" + i);
+            coldUsers[i].setEmail("student" + i + "@example.com");
+            coldTokens[i] = jwtUtil.generateToken(coldUsers[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean uncachedRequest() {
+        String subject = parseWithFreshKey(token).getSubject();
+        return subject.equals(parseWithFreshKey(token).getSubject())
+                && parseWithFreshKey(token).getExpiration().after(new Date());
+    }
+
+    @Benchmark
+    public boolean coldRequest() {
+        next = (next + 1) & (COLD_TOKENS - 1);
+        String coldToken = coldTokens[next];
+        String subject = jwtUtil.extractUsername(coldToken);
+        return subject != null && jwtUtil.validateToken(coldToken, coldUsers[next]);
+    }
+
+    @Benchmark
+    public boolean cachedRequest() {
+        String subject = jwtUtil.extractUsername(token);
+        return subject != null && jwtUtil.validateToken(token, user);
+    }
+
+    private static Claims parseWithFreshKey(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,93 @@
+package com.uca.scheduleapp.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a CORS preflight in the JWT filter at three points:
+ * - preflightBaseline: the filter before the auth-failure counters, which printed "No Authorization
+ *   header" to stderr for every preflight. Reproduced here, with stderr sent to /dev/null through an
+ *   autoflushing stream, so each line still costs a write but no terminal.
+ * - preflightMetricsOnly: the current doFilterInternal, which counts the missing header and logs
+ *   at most once per interval, as it ran before the public-route matcher.
+ * - preflightSkipped: the current filter, where shouldNotFilter hands preflights straight to the chain.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PreflightFilterBenchmark {
+    private final FilterChain chain = (request, response) -> {
+    };
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest preflight;
+    private MockHttpServletResponse response;
+    private PrintStream stderr;
+
+    @Setup
+    public void setUp() throws FileNotFoundException {
+        stderr = System.err;
+        System.setErr(new PrintStream(new FileOutputStream("/dev/null"), true));
+
+        AuthFailureMetrics authFailures = new AuthFailureMetrics();
+        ReflectionTestUtils.setField(authFailures, "logIntervalMillis", 60000L);
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "authFailures", authFailures);
+
+        preflight = new MockHttpServletRequest("OPTIONS", "/timetable/");
+        preflight.addHeader("Origin", "http://localhost:5173");
+        preflight.addHeader("Access-Control-Request-Method", "POST");
+        preflight.addHeader("Access-Control-Request-Headers", "authorization,content-type");
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.err.close();
+        System.setErr(stderr);
+    }
+
+    @Benchmark
+    public void preflightBaseline() throws ServletException, IOException {
+        baselineFilter(preflight, response, chain);
+    }
+
+    @Benchmark
+    public void preflightMetricsOnly() throws ServletException, IOException {
+        filter.doFilterInternal(preflight, response, chain);
+    }
+
+    @Benchmark
+    public void preflightSkipped() throws ServletException, IOException {
+        filter.doFilter(preflight, response, chain);
+    }
+
+    // The branches of the original doFilterInternal that a request without an Authorization header takes
+    private static void baselineFilter(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (request.getServletPath().contains("/token")) {
+            chain.doFilter(request, response);
+            return;
+        }
+        final String authorizationHeader = request.getHeader("Authorization");
+        if (authorizationHeader == null) {
+            System.err.println("No Authorization header for path=" + request.getRequestURI());
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,66 @@
+package com.uca.scheduleapp.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point operations on a single IntervalSet of 10 to 100k 50-minute intervals spread over a week.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntervalSetBenchmark {
+    private static final int MINUTES_PER_WEEK = 7 * 24 * 60;
+
+    @Param({"10", "1000", "10000", "100000"})
+    private int intervals;
+
+    private IntervalSet set;
+    private int[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        set = new IntervalSet();
+        for (int i = 0; i < intervals; i++) {
+            int start = random.nextInt(MINUTES_PER_WEEK - 50);
+            set.add(i, start, start + 50);
+        }
+        queries = new int[1024];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = random.nextInt(MINUTES_PER_WEEK - 50);
+        }
+    }
+
+    private int nextQuery() {
+        next = (next + 1) & (queries.length - 1);
+        return queries[next];
+    }
+
+    @Benchmark
+    public boolean overlapsAny() {
+        int start = nextQuery();
+        return set.overlapsAny(start, start + 50);
+    }
+
+    @Benchmark
+    public void forEachOverlapping(Blackhole blackhole) {
+        int start = nextQuery();
+        set.forEachOverlapping(start, start + 50, blackhole::consume);
+    }
+
+    // Incremental insert and remove of one interval, as a lesson edit does
+    @Benchmark
+    public boolean addAndRemove() {
+        int start = nextQuery();
+        set.add(-1, start, start + 50);
+        return set.remove(-1);
+    }
+}
@@ -0,0 +1,82 @@
+package com.uca.scheduleapp.service;
+
+import com.uca.scheduleapp.dto.TimetableConflictDTO;
+import com.uca.scheduleapp.dto.UniversityScheduleDTO;
+import com.uca.scheduleapp.repository.UniversityScheduleRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admin-wide conflict checks and incremental updates on the conflict engine, from 10 to 100k
+ * lessons. Lessons are spread like a real week: about 25 per class and 40 per room, on weekdays
+ * between 08:00 and 18:00.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScheduleConflictEngineBenchmark {
+    @Param({"10", "1000", "10000", "100000"})
+    private int lessons;
+
+    private ScheduleConflictEngine engine;
+    private UniversityScheduleDTO lesson;
+    private UniversityScheduleDTO moved;
+    private String room;
+
+    @Setup
+    public void setUp() {
+        List<UniversityScheduleDTO> schedules = generate(lessons, new Random(42));
+        UniversityScheduleRepository repository = Mockito.mock(UniversityScheduleRepository.class);
+        Mockito.when(repository.findAllAsDTO()).thenReturn(schedules);
+        engine = new ScheduleConflictEngine();
+        ReflectionTestUtils.setField(engine, "universityScheduleRepository", repository);
+        engine.allConflicts();
+
+        lesson = schedules.get(lessons / 2);
+        moved = new UniversityScheduleDTO(lesson.getId(), lesson.getCourseName(), DayOfWeek.SATURDAY,
+                lesson.getStartTime(), lesson.getEndTime(), lesson.getLocation(),
+                lesson.getStudentClassId(), lesson.getStudentClassName());
+        room = lesson.getLocation();
+    }
+
+    @Benchmark
+    public List<TimetableConflictDTO> allConflicts() {
+        return engine.allConflicts();
+    }
+
+    @Benchmark
+    public List<TimetableConflictDTO> conflictsForLocation() {
+        return engine.conflictsForLocation(room);
+    }
+
+    // Two incremental updates: move a lesson to another day and back
+    @Benchmark
+    public void moveLesson() {
+        engine.upsert(moved);
+        engine.upsert(lesson);
+    }
+
+    static List<UniversityScheduleDTO> generate(int count, Random random) {
+        int rooms = Math.max(1, count / 40);
+        List<UniversityScheduleDTO> schedules = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long classId = i / 25;
+            LocalTime start = LocalTime.of(8, 0).plusMinutes(10L * random.nextInt(55));
+            schedules.add(new UniversityScheduleDTO((long) i, "Course " + i,
+                    DayOfWeek.of(1 + random.nextInt(5)), start, start.plusMinutes(50),
+                    "R" + random.nextInt(rooms), classId, "Class " + classId));
+        }
+        return schedules;
+    }
+}
@@ -0,0 +1,116 @@
+package com.uca.scheduleapp.service;
+
+import com.uca.scheduleapp.dto.SearchResultDTO;
+import com.uca.scheduleapp.dto.UniversityScheduleDTO;
+import com.uca.scheduleapp.dto.UserResponse;
+import com.uca.scheduleapp.model.Course;
+import com.uca.scheduleapp.repository.CourseRepository;
+import com.uca.scheduleapp.repository.UniversityScheduleRepository;
+import com.uca.scheduleapp.repository.UserRepository;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead queries and updates against a 100k-document search index: 60k users, 1k courses
+ * and 39k lessons. The index is built once per fork through mocked repositories.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+@State(Scope.Benchmark)
+public class SearchServiceBenchmark {
+    private static final String[] FIRST = {"alice", "bruno", "carla", "daniel", "elena", "farid", "gulnara",
+            "hassan", "irina", "jamal", "kamila", "lev", "madina", "nurlan", "olga", "pavel", "rustam",
+            "saida", "timur", "ulan", "vera", "yusuf", "zarina", "aigerim", "bakyt"};
+    private static final String[] LAST = {"abdrakhmanov", "bekova", "chen", "dzhumabaev", "esenova", "fischer",
+            "garcia", "ibraimova", "kim", "lee", "mamytov", "nazarova", "orozbekov", "petrov", "rakhimova",
+            "smith", "tashieva", "usenov", "volkova", "williams"};
+    private static final String[] SUBJECTS = {"Physics", "Mathematics", "Chemistry", "Biology", "Economics",
+            "History", "Philosophy", "Statistics", "Programming", "Literature", "Psychology", "Geography",
+            "Linear Algebra", "Calculus", "Microeconomics", "Databases", "Networks", "Sociology", "Art", "Law"};
+    private static final String[] KINDS = {"Lecture", "Lab", "Seminar", "Tutorial", "Workshop"};
+
+    private SearchService searchService;
+    private UserResponse renamed;
+    private UserResponse original;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<UserResponse> users = new ArrayList<>(60_000);
+        for (int i = 0; i < 60_000; i++) {
+            String name = FIRST[random.nextInt(FIRST.length)] + "." + LAST[random.nextInt(LAST.length)] + i;
+            users.add(new UserResponse((long) i, name, name + "@uca.edu", "Male", (long) (i % 400),
+                    "Class " + (i % 400), "Freshman", false));
+        }
+        List<Course> courses = new ArrayList<>(1_000);
+        for (int i = 0; i < 1_000; i++) {
+            courses.add(new Course((long) i, SUBJECTS[i % SUBJECTS.length] + " " + (100 + i),
+                    Course.YearLevel.values()[i % Course.YearLevel.values().length]));
+        }
+        List<UniversityScheduleDTO> lessons = new ArrayList<>(39_000);
+        for (int i = 0; i < 39_000; i++) {
+            LocalTime start = LocalTime.of(8 + random.nextInt(10), 0);
+            lessons.add(new UniversityScheduleDTO((long) i,
+                    SUBJECTS[random.nextInt(SUBJECTS.length)] + " " + KINDS[random.nextInt(KINDS.length)],
+                    DayOfWeek.of(1 + random.nextInt(5)), start, start.plusMinutes(50),
+                    (char) ('A' + random.nextInt(6)) + "-" + (100 + random.nextInt(400)),
+                    (long) (i % 400), "Class " + (i % 400)));
+        }
+
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        CourseRepository courseRepository = Mockito.mock(CourseRepository.class);
+        UniversityScheduleRepository scheduleRepository = Mockito.mock(UniversityScheduleRepository.class);
+        Mockito.when(userRepository.findListing(ArgumentMatchers.any())).thenReturn(users);
+        Mockito.when(courseRepository.findAll()).thenReturn(courses);
+        Mockito.when(scheduleRepository.findAllAsDTO()).thenReturn(lessons);
+
+        searchService = new SearchService();
+        ReflectionTestUtils.setField(searchService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(searchService, "courseRepository", courseRepository);
+        ReflectionTestUtils.setField(searchService, "universityScheduleRepository", scheduleRepository);
+        searchService.search("warm", null, 10);
+
+        original = users.get(30_000);
+        renamed = new UserResponse(original.getId(), original.getUsername() + "x", "renamed@uca.edu", "Male",
+                original.getStudentClassId(), original.getStudentClassName(), "Freshman", false);
+    }
+
+    @Benchmark
+    public List<SearchResultDTO> prefix() {
+        return searchService.search("gul", null, 10);
+    }
+
+    @Benchmark
+    public List<SearchResultDTO> substring() {
+        return searchService.search("rakhim", null, 10);
+    }
+
+    @Benchmark
+    public List<SearchResultDTO> misspelledTwoWords() {
+        return searchService.search("phisics lab", null, 10);
+    }
+
+    @Benchmark
+    public List<SearchResultDTO> prefixOneKind() {
+        return searchService.search("calc", SearchService.COURSE, 10);
+    }
+
+    // Two updates: rename a user and rename them back
+    @Benchmark
+    public void renameUser() {
+        searchService.upsertUser(renamed);
+        searchService.upsertUser(original);
+    }
+}
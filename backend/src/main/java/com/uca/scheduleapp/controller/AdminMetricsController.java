@@ -0,0 +1,39 @@
+package com.uca.scheduleapp.controller;
+
+import com.uca.scheduleapp.model.User;
+import com.uca.scheduleapp.security.AuthFailureMetrics;
+import com.uca.scheduleapp.util.CacheRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/metrics")
+@CrossOrigin
+public class AdminMetricsController {
+    @Autowired
+    private AuthFailureMetrics authFailureMetrics;
+
+    @Autowired
+    private CacheRegistry cacheRegistry;
+
+    @GetMapping("/auth/")
+    public ResponseEntity<Map<String, Long>> getAuthFailures(@AuthenticationPrincipal User user) {
+        if (user == null || !Boolean.TRUE.equals(user.getIsSuperuser())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(authFailureMetrics.snapshot());
+    }
+
+    @GetMapping("/caches/")
+    public ResponseEntity<Map<String, Map<String, Long>>> getCacheStats(@AuthenticationPrincipal User user) {
+        if (user == null || !Boolean.TRUE.equals(user.getIsSuperuser())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(cacheRegistry.snapshot());
+    }
+}
@@ -2,13 +2,18 @@ package com.uca.scheduleapp.controller;
 
 import com.uca.scheduleapp.dto.MealDTO;
 import com.uca.scheduleapp.dto.MealRequest;
+import com.uca.scheduleapp.model.Meal;
+import com.uca.scheduleapp.model.StudentClass;
 import com.uca.scheduleapp.model.User;
+import com.uca.scheduleapp.repository.MealRepositoryCustom;
+import com.uca.scheduleapp.service.AdminListings;
 import com.uca.scheduleapp.service.MealService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -19,10 +24,29 @@ public class MealController {
     @Autowired
     private MealService mealService;
 
+    @Autowired
+    private AdminListings adminListings;
+
+    /**
+     * Students get their class's meals. Admins get every meal (or one class's) unless they pass
+     * cursor, limit, year_level, type, q or sort, which return one keyset page by id with an
+     * X-Next-Cursor header (sort=-id for newest first).
+     */
     @GetMapping("/")
     public ResponseEntity<List<MealDTO>> getAllMeals(
             @AuthenticationPrincipal User user,
-            @RequestParam(required = false) Long student_class_id) {
+            @RequestParam(required = false) Long student_class_id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String year_level,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String sort) {
+        boolean admin = user != null && Boolean.TRUE.equals(user.getIsSuperuser());
+        if (admin && AdminListings.isPaged(cursor, limit, year_level, type, q, sort)) {
+            return adminListings.toResponse(() -> mealService.listMeals(
+                    toListing(student_class_id, year_level, type, q, sort), cursor, limit));
+        }
         try {
             List<MealDTO> meals = mealService.getAllMeals(user, student_class_id);
             return ResponseEntity.ok(meals);
@@ -31,6 +55,22 @@ public class MealController {
         }
     }
 
+    // Admin export with the listing's filters, streamed one JSON object per line
+    @GetMapping(value = "/", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> exportMeals(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) Long student_class_id,
+            @RequestParam(required = false) String year_level,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String sort) {
+        if (user == null || !Boolean.TRUE.equals(user.getIsSuperuser())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return adminListings.toNdjsonResponse("meals.ndjson",
+                () -> toListing(student_class_id, year_level, type, q, sort), mealService::exportMeals);
+    }
+
     @GetMapping("/{id}/")
     public ResponseEntity<MealDTO> getMealById(
             @PathVariable Long id,
@@ -79,5 +119,15 @@ public class MealController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
     }
-}
 
+    // Meals page by id only; sort=-id lists newest first
+    private static MealRepositoryCustom.Listing toListing(Long studentClassId, String yearLevel, String type,
+                                                          String q, String sort) {
+        if (sort != null && !sort.equals("id") && !sort.equals("-id")) {
+            throw new RuntimeException("Unsupported sort: " + sort);
+        }
+        return new MealRepositoryCustom.Listing(studentClassId,
+                yearLevel != null ? StudentClass.YearLevel.valueOf(yearLevel) : null,
+                type != null ? Meal.MealType.valueOf(type) : null, q, "-id".equals(sort));
+    }
+}
@@ -1,15 +1,19 @@
 package com.uca.scheduleapp.controller;
 
 import com.uca.scheduleapp.dto.NotificationDTO;
+import com.uca.scheduleapp.dto.NotificationReadRequest;
 import com.uca.scheduleapp.model.User;
 import com.uca.scheduleapp.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/notifications")
@@ -18,10 +22,19 @@ public class NotificationController {
     @Autowired
     private NotificationService notificationService;
 
+    // Newest first; pass the X-Next-Cursor header back as ?cursor= for the next page
     @GetMapping("/")
-    public ResponseEntity<List<NotificationDTO>> getMyNotifications(@AuthenticationPrincipal User user) {
+    public ResponseEntity<List<NotificationDTO>> getMyNotifications(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
-            return ResponseEntity.ok(notificationService.getMyNotifications(user));
+            NotificationService.Page page = notificationService.getMyNotifications(user, cursor, limit);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.nextCursor() != null) {
+                response.header("X-Next-Cursor", page.nextCursor());
+            }
+            return response.body(page.items());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
@@ -36,6 +49,15 @@ public class NotificationController {
         }
     }
 
+    @GetMapping(value = "/stream/", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@AuthenticationPrincipal User user) {
+        try {
+            return ResponseEntity.ok(notificationService.openStream(user));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
     @PostMapping("/{id}/read/")
     public ResponseEntity<?> markRead(@AuthenticationPrincipal User user, @PathVariable Long id) {
         try {
@@ -46,11 +68,31 @@ public class NotificationController {
         }
     }
 
+    @PostMapping("/{id}/dismiss/")
+    public ResponseEntity<?> dismiss(@AuthenticationPrincipal User user, @PathVariable Long id) {
+        try {
+            notificationService.dismiss(user, id);
+            return ResponseEntity.ok().body("{\"status\": \"ok\"}");
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    @PostMapping("/read/")
+    public ResponseEntity<?> markRead(@AuthenticationPrincipal User user, @RequestBody NotificationReadRequest request) {
+        try {
+            int updated = notificationService.markRead(user, request.getIds());
+            return ResponseEntity.ok(Map.of("status", "ok", "updated", updated));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
     @PostMapping("/read-all/")
     public ResponseEntity<?> markAllRead(@AuthenticationPrincipal User user) {
         try {
-            notificationService.markAllRead(user);
-            return ResponseEntity.ok().body("{\"status\": \"ok\"}");
+            int updated = notificationService.markAllRead(user);
+            return ResponseEntity.ok(Map.of("status", "ok", "updated", updated));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
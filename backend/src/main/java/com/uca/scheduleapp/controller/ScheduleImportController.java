@@ -0,0 +1,45 @@
+package com.uca.scheduleapp.controller;
+
+import com.uca.scheduleapp.dto.ImportReportDTO;
+import com.uca.scheduleapp.model.User;
+import com.uca.scheduleapp.service.ScheduleImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/admin/import")
+@CrossOrigin
+public class ScheduleImportController {
+    @Autowired
+    private ScheduleImportService scheduleImportService;
+
+    /**
+     * Imports lessons, meals and gym hours from a CSV upload (multipart field "file").
+     * With dry_run=true nothing is written and the report lists every problem found.
+     * Otherwise the import is all or nothing: 409 with the report when any row fails.
+     */
+    @PostMapping("/schedules/")
+    public ResponseEntity<ImportReportDTO> importSchedules(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "false") boolean dry_run,
+            @AuthenticationPrincipal User user) {
+        if (user == null || !Boolean.TRUE.equals(user.getIsSuperuser())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try (InputStream in = file.getInputStream()) {
+            ImportReportDTO report = scheduleImportService.importCsv(in, dry_run);
+            if (!dry_run && !report.isApplied()) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(report);
+            }
+            return ResponseEntity.ok(report);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.uca.scheduleapp.controller;
+
+import com.uca.scheduleapp.dto.ScheduleSlotDTO;
+import com.uca.scheduleapp.model.User;
+import com.uca.scheduleapp.service.WeeklySlotIndex;
+import com.uca.scheduleapp.util.WeekTime;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * What's on now, what's next and which rooms are free, answered from the in-memory weekly index.
+ * Students see their own class and gender; admins may pass student_class_id and gender.
+ * Times default to the server clock and can be overridden with at=2025-03-04T10:15.
+ */
+@RestController
+@RequestMapping("/schedule")
+@CrossOrigin
+public class ScheduleSlotController {
+    private static final int MAX_NEXT = 20;
+
+    @Autowired
+    private WeeklySlotIndex slotIndex;
+
+    @GetMapping("/now/")
+    public ResponseEntity<List<ScheduleSlotDTO>> getNow(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) String at,
+            @RequestParam(required = false) Long student_class_id,
+            @RequestParam(required = false) String gender) {
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        try {
+            int minute = minuteOfWeek(at);
+            return ResponseEntity.ok(slotIndex.now(classFor(user, student_class_id), genderFor(user, gender), minute));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/next/")
+    public ResponseEntity<List<ScheduleSlotDTO>> getNext(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) String at,
+            @RequestParam(required = false) Long student_class_id,
+            @RequestParam(required = false) String gender,
+            @RequestParam(required = false) Integer limit) {
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        try {
+            int minute = minuteOfWeek(at);
+            int n = limit == null ? 3 : Math.max(1, Math.min(limit, MAX_NEXT));
+            return ResponseEntity.ok(slotIndex.next(classFor(user, student_class_id), genderFor(user, gender), minute, n));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/free-rooms/")
+    public ResponseEntity<List<String>> getFreeRooms(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) String day,
+            @RequestParam(required = false) String time,
+            @RequestParam(required = false) Integer duration) {
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        try {
+            int start;
+            if (day == null && time == null) {
+                start = minuteOfWeek(null);
+            } else {
+                DayOfWeek dayOfWeek = day != null ? WeekTime.parseDay(day) : LocalDateTime.now().getDayOfWeek();
+                if (dayOfWeek == null) {
+                    throw new RuntimeException("Unknown day: " + day);
+                }
+                LocalTime localTime = time != null ? LocalTime.parse(time) : LocalTime.now();
+                start = WeekTime.minuteOfWeek(dayOfWeek, localTime);
+            }
+            int minutes = duration == null ? 1 : Math.max(1, Math.min(duration, WeekTime.MINUTES_PER_WEEK));
+            return ResponseEntity.ok(slotIndex.freeRooms(start, start + minutes));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private static int minuteOfWeek(String at) {
+        LocalDateTime time = at != null ? LocalDateTime.parse(at) : LocalDateTime.now();
+        return WeekTime.minuteOfWeek(time.getDayOfWeek(), time.toLocalTime());
+    }
+
+    private static Long classFor(User user, Long requested) {
+        if (Boolean.TRUE.equals(user.getIsSuperuser()) && requested != null) {
+            return requested;
+        }
+        return user.getStudentClass() != null ? user.getStudentClass().getId() : null;
+    }
+
+    private static String genderFor(User user, String requested) {
+        if (Boolean.TRUE.equals(user.getIsSuperuser()) && requested != null) {
+            return requested;
+        }
+        return user.getGender() != null ? user.getGender().name() : null;
+    }
+}
@@ -0,0 +1,46 @@
+package com.uca.scheduleapp.controller;
+
+import com.uca.scheduleapp.dto.SearchResultDTO;
+import com.uca.scheduleapp.model.User;
+import com.uca.scheduleapp.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Admin typeahead: GET /search/?q=mat&kind=course&limit=10, answered from the in-memory index.
+ */
+@RestController
+@RequestMapping("/search")
+@CrossOrigin
+public class SearchController {
+    private static final int MAX_LIMIT = 50;
+    private static final Set<String> KINDS = Set.of(SearchService.USER, SearchService.COURSE, SearchService.LESSON);
+
+    @Autowired
+    private SearchService searchService;
+
+    @GetMapping("/")
+    public ResponseEntity<List<SearchResultDTO>> search(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String kind,
+            @RequestParam(required = false) Integer limit) {
+        if (user == null || !Boolean.TRUE.equals(user.getIsSuperuser())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (kind != null && !KINDS.contains(kind)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (q == null || q.isBlank()) {
+            return ResponseEntity.ok(List.of());
+        }
+        int n = limit == null ? 10 : Math.max(1, Math.min(limit, MAX_LIMIT));
+        return ResponseEntity.ok(searchService.search(q, kind, n));
+    }
+}
@@ -3,22 +3,37 @@ package com.uca.scheduleapp.controller;
 import com.uca.scheduleapp.dto.TimetableResponse;
 import com.uca.scheduleapp.dto.TimetableUpdateRequest;
 import com.uca.scheduleapp.model.User;
+import com.uca.scheduleapp.security.JwtUtil;
 import com.uca.scheduleapp.service.TimetableService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/timetable")
 @CrossOrigin
 public class TimetableController {
+    private static final MediaType TEXT_CALENDAR = MediaType.parseMediaType("text/calendar;charset=UTF-8");
+
     @Autowired
     private TimetableService timetableService;
 
+    @Autowired
+    private JwtUtil jwtUtil;
+
     @GetMapping("/")
     public ResponseEntity<TimetableResponse> getMyTimetable(@AuthenticationPrincipal User user) {
         try {
@@ -41,15 +56,70 @@ public class TimetableController {
     }
 
     @GetMapping(value = "/ics/", produces = "text/calendar")
-    public ResponseEntity<String> exportIcs(@AuthenticationPrincipal User user) {
+    public ResponseEntity<StreamingResponseBody> exportIcs(@AuthenticationPrincipal User user, WebRequest request) {
+        try {
+            return calendarResponse(user.getId(), request);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    @GetMapping("/ics/subscription/")
+    public ResponseEntity<Map<String, String>> getIcsSubscription(@AuthenticationPrincipal User user) {
         try {
-            String ics = timetableService.exportMyTimetableAsIcs(user);
-            return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=uca_timetable.ics")
-                .contentType(MediaType.parseMediaType("text/calendar"))
-                .body(ics);
+            return subscription(user.getId(), timetableService.getCalendarTokenVersion(user.getId()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
     }
+
+    // Revokes every feed URL handed out so far, e.g. after one was shared by mistake
+    @PostMapping("/ics/subscription/rotate/")
+    public ResponseEntity<Map<String, String>> rotateIcsSubscription(@AuthenticationPrincipal User user) {
+        try {
+            return subscription(user.getId(), timetableService.rotateCalendarToken(user.getId()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    // Public: calendar apps cannot send an Authorization header, the signed token is the credential
+    @GetMapping(value = "/ics/feed/{token}/", produces = "text/calendar")
+    public ResponseEntity<StreamingResponseBody> icsFeed(@PathVariable String token, WebRequest request) {
+        JwtUtil.CalendarToken calendarToken;
+        try {
+            calendarToken = jwtUtil.parseCalendarToken(token);
+        } catch (Exception e) {
+            calendarToken = null;
+        }
+        if (calendarToken == null
+                || !timetableService.isCalendarTokenCurrent(calendarToken.userId(), calendarToken.version())) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return calendarResponse(calendarToken.userId(), request);
+    }
+
+    private ResponseEntity<Map<String, String>> subscription(Long userId, int calendarTokenVersion) {
+        String token = jwtUtil.generateCalendarToken(userId, calendarTokenVersion);
+        return ResponseEntity.ok(Map.of("token", token, "path", "/timetable/ics/feed/" + token + "/"));
+    }
+
+    private ResponseEntity<StreamingResponseBody> calendarResponse(Long userId, WebRequest request) {
+        TimetableService.CalendarVersion version = timetableService.getCalendarVersion(userId);
+        // checkNotModified also writes the ETag and Last-Modified headers
+        if (request.checkNotModified(version.etag(), version.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        TimetableService.IcsCalendar calendar = timetableService.getCalendar(version);
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            timetableService.writeIcs(calendar, writer);
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=uca_timetable.ics")
+            .contentType(TEXT_CALENDAR)
+            .cacheControl(CacheControl.noCache())
+            .body(body);
+    }
 }
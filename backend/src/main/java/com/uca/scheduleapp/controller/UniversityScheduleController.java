@@ -1,14 +1,22 @@
 package com.uca.scheduleapp.controller;
 
+import com.uca.scheduleapp.dto.BulkScheduleRequest;
+import com.uca.scheduleapp.dto.BulkScheduleResponse;
+import com.uca.scheduleapp.dto.TimetableConflictDTO;
 import com.uca.scheduleapp.dto.UniversityScheduleDTO;
 import com.uca.scheduleapp.dto.UniversityScheduleRequest;
+import com.uca.scheduleapp.model.StudentClass;
 import com.uca.scheduleapp.model.User;
+import com.uca.scheduleapp.repository.UniversityScheduleRepositoryCustom;
+import com.uca.scheduleapp.service.AdminListings;
 import com.uca.scheduleapp.service.UniversityScheduleService;
+import com.uca.scheduleapp.util.WeekTime;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -19,10 +27,29 @@ public class UniversityScheduleController {
     @Autowired
     private UniversityScheduleService universityScheduleService;
 
+    @Autowired
+    private AdminListings adminListings;
+
+    /**
+     * Students get their class's lessons. Admins get every lesson (or one class's) unless they pass
+     * cursor, limit, year_level, day, q or sort, which return one keyset page with an X-Next-Cursor
+     * header.
+     */
     @GetMapping("/")
     public ResponseEntity<List<UniversityScheduleDTO>> getAllSchedules(
             @AuthenticationPrincipal User user,
-            @RequestParam(required = false) Long student_class_id) {
+            @RequestParam(required = false) Long student_class_id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String year_level,
+            @RequestParam(required = false) String day,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String sort) {
+        boolean admin = user != null && Boolean.TRUE.equals(user.getIsSuperuser());
+        if (admin && AdminListings.isPaged(cursor, limit, year_level, day, q, sort)) {
+            return adminListings.toResponse(() -> universityScheduleService.listSchedules(
+                    toListing(student_class_id, year_level, day, q, sort), cursor, limit));
+        }
         try {
             List<UniversityScheduleDTO> schedules = universityScheduleService.getAllSchedules(user, student_class_id);
             return ResponseEntity.ok(schedules);
@@ -31,6 +58,34 @@ public class UniversityScheduleController {
         }
     }
 
+    // Admin export with the listing's filters and sort, streamed one JSON object per line
+    @GetMapping(value = "/", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> exportSchedules(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) Long student_class_id,
+            @RequestParam(required = false) String year_level,
+            @RequestParam(required = false) String day,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String sort) {
+        if (user == null || !Boolean.TRUE.equals(user.getIsSuperuser())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return adminListings.toNdjsonResponse("lessons.ndjson",
+                () -> toListing(student_class_id, year_level, day, q, sort),
+                universityScheduleService::exportSchedules);
+    }
+
+    @GetMapping("/conflicts/")
+    public ResponseEntity<List<TimetableConflictDTO>> getConflicts(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) Long student_class_id,
+            @RequestParam(required = false) String location) {
+        if (user == null || !Boolean.TRUE.equals(user.getIsSuperuser())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(universityScheduleService.getConflicts(student_class_id, location));
+    }
+
     @GetMapping("/{id}/")
     public ResponseEntity<UniversityScheduleDTO> getScheduleById(
             @PathVariable Long id,
@@ -55,6 +110,31 @@ public class UniversityScheduleController {
         }
     }
 
+    /**
+     * Creates many lessons for many classes in one transaction. Responds 409 with every
+     * conflict, and writes nothing, if any lesson does not fit.
+     */
+    @PostMapping("/bulk/")
+    public ResponseEntity<BulkScheduleResponse> createSchedulesBulk(
+            @RequestBody BulkScheduleRequest request,
+            @AuthenticationPrincipal User user) {
+        if (user == null || !Boolean.TRUE.equals(user.getIsSuperuser())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (request.getLessons() == null || request.getLessons().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            BulkScheduleResponse result = universityScheduleService.createSchedulesBulk(request.getLessons());
+            if (!result.getConflicts().isEmpty()) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(result);
+            }
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PutMapping("/{id}/")
     public ResponseEntity<UniversityScheduleDTO> updateSchedule(
             @PathVariable Long id,
@@ -79,5 +159,18 @@ public class UniversityScheduleController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
     }
-}
 
+    // sort is id or course_name, prefixed with '-' for descending
+    private static UniversityScheduleRepositoryCustom.Listing toListing(Long studentClassId, String yearLevel,
+                                                                        String day, String q, String sort) {
+        StudentClass.YearLevel level = yearLevel != null ? StudentClass.YearLevel.valueOf(yearLevel) : null;
+        String field = sort == null ? "id" : sort;
+        boolean descending = field.startsWith("-");
+        field = descending ? field.substring(1) : field;
+        if (!field.equals("id") && !field.equals("course_name")) {
+            throw new RuntimeException("Unsupported sort: " + sort);
+        }
+        return new UniversityScheduleRepositoryCustom.Listing(studentClassId, level,
+                day != null ? WeekTime.requireDay(day) : null, q, field, descending);
+    }
+}
@@ -2,13 +2,17 @@ package com.uca.scheduleapp.controller;
 
 import com.uca.scheduleapp.dto.RegisterRequest;
 import com.uca.scheduleapp.dto.UserResponse;
+import com.uca.scheduleapp.model.StudentClass;
 import com.uca.scheduleapp.model.User;
+import com.uca.scheduleapp.repository.UserRepositoryCustom;
+import com.uca.scheduleapp.service.AdminListings;
 import com.uca.scheduleapp.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -19,17 +23,51 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AdminListings adminListings;
+
+    /**
+     * Without paging parameters this returns every user, as before. With cursor, limit, a filter or
+     * a sort it returns one keyset page and an X-Next-Cursor header.
+     */
     @GetMapping("/")
-    public ResponseEntity<List<UserResponse>> getAllUsers(@AuthenticationPrincipal User user) {
+    public ResponseEntity<List<UserResponse>> getAllUsers(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long student_class_id,
+            @RequestParam(required = false) String year_level,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String sort) {
         if (user == null || !Boolean.TRUE.equals(user.getIsSuperuser())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
-        try {
-            List<UserResponse> users = userService.getAllUsers();
-            return ResponseEntity.ok(users);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        if (!AdminListings.isPaged(cursor, limit, student_class_id, year_level, role, q, sort)) {
+            try {
+                return ResponseEntity.ok(userService.getAllUsers());
+            } catch (Exception e) {
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            }
         }
+        return adminListings.toResponse(() -> userService.listUsers(
+                toListing(student_class_id, year_level, role, q, sort), cursor, limit));
+    }
+
+    // Same filters and sort as the listing, streamed one JSON object per line
+    @GetMapping(value = "/", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) Long student_class_id,
+            @RequestParam(required = false) String year_level,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String sort) {
+        if (user == null || !Boolean.TRUE.equals(user.getIsSuperuser())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return adminListings.toNdjsonResponse("users.ndjson",
+                () -> toListing(student_class_id, year_level, role, q, sort), userService::exportUsers);
     }
 
     @GetMapping("/{id}/")
@@ -92,5 +130,23 @@ public class UserController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
     }
-}
 
+    // sort is id or username, prefixed with '-' for descending; role is admin or student
+    private static UserRepositoryCustom.Listing toListing(Long studentClassId, String yearLevel, String role,
+                                                          String q, String sort) {
+        StudentClass.YearLevel level = yearLevel != null ? StudentClass.YearLevel.valueOf(yearLevel) : null;
+        Boolean superuser = switch (role == null ? "" : role) {
+            case "" -> null;
+            case "admin" -> true;
+            case "student" -> false;
+            default -> throw new RuntimeException("Unknown role: " + role);
+        };
+        String field = sort == null ? "id" : sort;
+        boolean descending = field.startsWith("-");
+        field = descending ? field.substring(1) : field;
+        if (!field.equals("id") && !field.equals("username")) {
+            throw new RuntimeException("Unsupported sort: " + sort);
+        }
+        return new UserRepositoryCustom.Listing(studentClassId, level, superuser, q, field, descending);
+    }
+}
@@ -0,0 +1,14 @@
+package com.uca.scheduleapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BulkScheduleConflictDTO {
+    // Position of the lesson in the request
+    private int lessonIndex;
+    // Null when the lesson itself is invalid
+    private Long studentClassId;
+    private String message;
+}
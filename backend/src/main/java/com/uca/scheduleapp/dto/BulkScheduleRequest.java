@@ -0,0 +1,11 @@
+package com.uca.scheduleapp.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkScheduleRequest {
+    // Each lesson lists the student classes it applies to
+    private List<UniversityScheduleRequest> lessons;
+}
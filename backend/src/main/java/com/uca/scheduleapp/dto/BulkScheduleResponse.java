@@ -0,0 +1,14 @@
+package com.uca.scheduleapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BulkScheduleResponse {
+    // Empty when any lesson conflicted; the request is applied all or nothing
+    private List<UniversityScheduleDTO> created;
+    private List<BulkScheduleConflictDTO> conflicts;
+}
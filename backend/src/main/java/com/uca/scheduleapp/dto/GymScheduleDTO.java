@@ -1,10 +1,14 @@
 package com.uca.scheduleapp.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.uca.scheduleapp.util.WeekTime;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.DayOfWeek;
 import java.time.LocalTime;
 
 @Data
@@ -13,11 +17,24 @@ import java.time.LocalTime;
 public class GymScheduleDTO {
     private Long id;
     private String gender;
-    private String day;
+    @JsonIgnore
+    private DayOfWeek day;
 
     @JsonFormat(pattern = "HH:mm")
     private LocalTime openTime;
 
     @JsonFormat(pattern = "HH:mm")
     private LocalTime closeTime;
+
+    // Serialized as "Monday" etc., like lessons
+    @JsonProperty("day")
+    public String getDayName() {
+        return WeekTime.dayName(day);
+    }
+
+    // Accepts any case and surrounding spaces; anything else fails the request body with 400
+    @JsonProperty("day")
+    public void setDayName(String name) {
+        day = name == null ? null : WeekTime.requireDay(name);
+    }
 }
@@ -0,0 +1,12 @@
+package com.uca.scheduleapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ImportProblemDTO {
+    // CSV record number, header = 1
+    private int row;
+    private String message;
+}
@@ -0,0 +1,22 @@
+package com.uca.scheduleapp.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class ImportReportDTO {
+    private boolean dryRun;
+    // True only when rows were written; any problem rolls the whole import back
+    private boolean applied;
+    private int rowsRead;
+    private int lessons;
+    private int meals;
+    private int gymSchedules;
+    private List<ImportProblemDTO> problems = new ArrayList<>();
+    // Set when more problems were found than are listed
+    private boolean problemsTruncated;
+}
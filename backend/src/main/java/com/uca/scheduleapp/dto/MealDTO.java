@@ -1,5 +1,6 @@
 package com.uca.scheduleapp.dto;
 
+import com.uca.scheduleapp.model.Meal;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,5 +18,11 @@ public class MealDTO {
     private String menu;
     private Long studentClassId;
     private String studentClassName;
+
+    // JPQL constructor projection for the admin listing
+    public MealDTO(Long id, Meal.MealType type, LocalTime timeStart, LocalTime timeEnd, String menu,
+                   Long studentClassId, String studentClassName) {
+        this(id, type != null ? type.name() : null, timeStart, timeEnd, menu, studentClassId, studentClassName);
+    }
 }
 
@@ -0,0 +1,10 @@
+package com.uca.scheduleapp.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class NotificationReadRequest {
+    private List<Long> ids;
+}
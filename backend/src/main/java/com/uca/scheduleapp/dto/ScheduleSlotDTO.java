@@ -0,0 +1,30 @@
+package com.uca.scheduleapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleSlotDTO {
+    // lesson, meal or gym
+    private String kind;
+    private Long id;
+    private String title;
+    private String day;
+
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime startTime;
+
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime endTime;
+
+    private String location;
+
+    // Only set by the next-up lookup
+    private Integer minutesUntil;
+}
@@ -0,0 +1,17 @@
+package com.uca.scheduleapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDTO {
+    // user, course or lesson
+    private String kind;
+    private Long id;
+    private String title;
+    private String subtitle;
+    private Double score;
+}
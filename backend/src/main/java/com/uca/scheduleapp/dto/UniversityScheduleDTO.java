@@ -1,9 +1,13 @@
 package com.uca.scheduleapp.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.uca.scheduleapp.util.WeekTime;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.DayOfWeek;
 import java.time.LocalTime;
 
 @Data
@@ -12,11 +16,17 @@ import java.time.LocalTime;
 public class UniversityScheduleDTO {
     private Long id;
     private String courseName;
-    private String day;
+    @JsonIgnore
+    private DayOfWeek day;
     private LocalTime startTime;
     private LocalTime endTime;
     private String location;
     private Long studentClassId;
     private String studentClassName;
-}
 
+    // Serialized as "Monday" etc., as before the column became an enum
+    @JsonProperty("day")
+    public String getDayName() {
+        return WeekTime.dayName(day);
+    }
+}
@@ -1,6 +1,8 @@
 package com.uca.scheduleapp.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.uca.scheduleapp.model.StudentClass;
+import com.uca.scheduleapp.model.User;
 import lombok.Data;
 
 @Data
@@ -37,4 +39,12 @@ public class UserResponse {
         this.studentClassYear = studentClassYear;
         this.isSuperuser = isSuperuser;
     }
+
+    // JPQL constructor projection for the admin listing (fetch-joined class, no entity load)
+    public UserResponse(Long id, String username, String email, User.Gender gender,
+                        Long studentClassId, String studentClassName, StudentClass.YearLevel studentClassYear,
+                        Boolean isSuperuser) {
+        this(id, username, email, gender != null ? gender.name() : null, studentClassId, studentClassName,
+                studentClassYear != null ? studentClassYear.name() : null, isSuperuser);
+    }
 }
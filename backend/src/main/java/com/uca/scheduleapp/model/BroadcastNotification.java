@@ -0,0 +1,69 @@
+package com.uca.scheduleapp.model;
+
+import com.uca.scheduleapp.util.MessageHash;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification stored once for a whole audience. Per-user state lives in BroadcastReceipt
+ * and only exists once the user has read or dismissed it.
+ */
+@Entity
+@Table(
+    name = "broadcast_notifications",
+    indexes = @Index(name = "idx_broadcast_created", columnList = "created_at, id")
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastNotification {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String type;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String message;
+
+    // SHA-256 of message; TEXT columns cannot be compared through an index
+    @Column(name = "message_hash", length = 64)
+    private String messageHash;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private Target target;
+
+    // Set when target is STUDENT_CLASS
+    @Column(name = "student_class_id")
+    private Long studentClassId;
+
+    // Set when target is GENDER
+    @Column(length = 10)
+    @Enumerated(EnumType.STRING)
+    private User.Gender gender;
+
+    // The user who caused the broadcast does not see it
+    @Column(name = "exclude_user_id")
+    private Long excludeUserId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @PrePersist
+    @PreUpdate
+    void hashMessage() {
+        messageHash = MessageHash.of(message);
+    }
+
+    public enum Target {
+        ALL,
+        STUDENT_CLASS,
+        GENDER
+    }
+}
@@ -0,0 +1,39 @@
+package com.uca.scheduleapp.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+    name = "broadcast_receipts",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"broadcast_id", "user_id"})
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastReceipt {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "broadcast_id", nullable = false)
+    private BroadcastNotification broadcast;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "is_read", nullable = false)
+    private Boolean isRead = false;
+
+    @Column(nullable = false)
+    private Boolean dismissed = false;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+}
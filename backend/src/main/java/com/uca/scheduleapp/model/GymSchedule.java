@@ -5,10 +5,13 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.DayOfWeek;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "gym_schedule")
+@Table(name = "gym_schedule", indexes = {
+    @Index(name = "idx_gym_schedule_gender_day_open", columnList = "gender, day, open_time")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,8 +24,10 @@ public class GymSchedule {
     @Enumerated(EnumType.STRING)
     private Gender gender;
 
-    @Column(nullable = false, length = 20)
-    private String day;
+    // Stored as the ordinal, Monday = 0
+    @Column(nullable = false)
+    @Enumerated(EnumType.ORDINAL)
+    private DayOfWeek day;
 
     @Column(name = "open_time", nullable = false)
     @JsonFormat(pattern = "HH:mm")
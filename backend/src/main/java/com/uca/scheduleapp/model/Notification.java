@@ -1,5 +1,6 @@
 package com.uca.scheduleapp.model;
 
+import com.uca.scheduleapp.util.MessageHash;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -8,7 +9,15 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(
+    name = "notifications",
+    indexes = {
+        @Index(name = "idx_notifications_user_created", columnList = "user_id, created_at, id"),
+        // Retention: finding later duplicates of a message, and read rows past the cutoff
+        @Index(name = "idx_notifications_user_type_hash", columnList = "user_id, type, message_hash, id"),
+        @Index(name = "idx_notifications_read_created", columnList = "is_read, created_at")
+    }
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -27,9 +36,19 @@ public class Notification {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String message;
 
+    // SHA-256 of message; TEXT columns cannot be compared through an index
+    @Column(name = "message_hash", length = 64)
+    private String messageHash;
+
     @Column(name = "is_read", nullable = false)
     private Boolean isRead = false;
 
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    @PrePersist
+    @PreUpdate
+    void hashMessage() {
+        messageHash = MessageHash.of(message);
+    }
 }
@@ -5,10 +5,13 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.DayOfWeek;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "university_schedule")
+@Table(name = "university_schedule", indexes = {
+    @Index(name = "idx_university_schedule_class_day_start", columnList = "student_class_id, day, start_time")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,8 +27,10 @@ public class UniversitySchedule {
     @Column(name = "course_name", nullable = false, length = 100)
     private String courseName;
 
-    @Column(nullable = false, length = 20)
-    private String day;
+    // Stored as the ordinal, Monday = 0
+    @Column(nullable = false)
+    @Enumerated(EnumType.ORDINAL)
+    private DayOfWeek day;
 
     @Column(name = "start_time", nullable = false)
     private LocalTime startTime;
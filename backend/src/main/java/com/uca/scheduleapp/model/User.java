@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -49,6 +50,25 @@ public class User implements UserDetails {
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
 
+    // Bumped whenever a field carried in signed token claims changes
+    @Column(name = "token_version", nullable = false)
+    @ColumnDefault("0")
+    private Integer tokenVersion = 0;
+
+    // Bumped to revoke calendar feed URLs; separate from tokenVersion so profile edits keep subscriptions working
+    @Column(name = "calendar_token_version", nullable = false)
+    @ColumnDefault("0")
+    private Integer calendarTokenVersion = 0;
+
+    // Last change to the lessons in the user's timetable, for calendar validators; null until the first one.
+    // Only written by UserRepository.touchTimetables, so saving a loaded user never overwrites a newer value.
+    @Column(name = "timetable_updated_at", insertable = false, updatable = false)
+    private LocalDateTime timetableUpdatedAt;
+
+    // Broadcasts older than this are not shown to the user; null for accounts created before it existed
+    @Column(name = "date_joined")
+    private LocalDateTime dateJoined = LocalDateTime.now();
+
     public enum Gender {
         Male, Female
     }
@@ -0,0 +1,66 @@
+package com.uca.scheduleapp.repository;
+
+import com.uca.scheduleapp.dto.NotificationDTO;
+import com.uca.scheduleapp.model.BroadcastNotification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BroadcastNotificationRepository extends JpaRepository<BroadcastNotification, Long> {
+    // Broadcasts addressed to :userId (everyone, their class or their gender) that they have not dismissed.
+    // The user's class and gender are read from the row, not from the possibly stale principal.
+    String VISIBLE = " FROM BroadcastNotification b JOIN User u ON u.id = :userId" +
+            " LEFT JOIN BroadcastReceipt r ON r.broadcast = b AND r.user = u" +
+            " WHERE ((b.studentClassId IS NULL AND b.gender IS NULL)" +
+            "   OR b.studentClassId = u.studentClass.id OR b.gender = u.gender)" +
+            " AND (b.excludeUserId IS NULL OR b.excludeUserId <> u.id)" +
+            " AND (u.dateJoined IS NULL OR b.createdAt >= u.dateJoined)" +
+            " AND (r.id IS NULL OR r.dismissed = false)";
+
+    // Broadcast ids are negated so they never collide with direct notification ids. The keyset is
+    // (createdAt, negated id) descending, so that it merges with direct rows in one order.
+    @Query("SELECT new com.uca.scheduleapp.dto.NotificationDTO(-b.id, b.type, b.message, COALESCE(r.isRead, false), b.createdAt)" +
+            VISIBLE + " AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND -b.id < :id))" +
+            " ORDER BY b.createdAt DESC, b.id ASC")
+    List<NotificationDTO> findVisiblePageBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT COUNT(b)" + VISIBLE + " AND (r.id IS NULL OR r.isRead = false)")
+    long countUnread(@Param("userId") Long userId);
+
+    @Query("SELECT b.id" + VISIBLE + " AND (r.id IS NULL OR r.isRead = false)")
+    List<Long> findUnreadIds(@Param("userId") Long userId);
+
+    @Query("SELECT b.id" + VISIBLE + " AND (r.id IS NULL OR r.isRead = false) AND b.id IN :ids")
+    List<Long> findUnreadIdsIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    @Query("SELECT COUNT(b)" + VISIBLE + " AND b.id = :id")
+    long countVisible(@Param("userId") Long userId, @Param("id") Long id);
+
+    @Query("SELECT b.id FROM BroadcastNotification b WHERE b.createdAt < :cutoff AND b.id > :afterId ORDER BY b.id")
+    List<Long> findIdsBefore(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") Long afterId,
+                             Pageable pageable);
+
+    // Broadcasts of the given types repeated later to the same audience with the same message.
+    // The EXISTS probe is an index range on (type, message_hash, id), so only broadcasts with the
+    // same message are compared instead of the whole table.
+    @Query("SELECT b.id FROM BroadcastNotification b WHERE b.type IN :types AND b.id > :afterId AND EXISTS (" +
+           "SELECT c.id FROM BroadcastNotification c WHERE c.type = b.type AND c.messageHash = b.messageHash " +
+           "AND c.id > b.id AND c.message = b.message AND c.target = b.target " +
+           "AND (c.studentClassId = b.studentClassId OR (c.studentClassId IS NULL AND b.studentClassId IS NULL)) " +
+           "AND (c.gender = b.gender OR (c.gender IS NULL AND b.gender IS NULL))) ORDER BY b.id")
+    List<Long> findSupersededIds(@Param("types") Collection<String> types, @Param("afterId") Long afterId,
+                                 Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM BroadcastNotification b WHERE b.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
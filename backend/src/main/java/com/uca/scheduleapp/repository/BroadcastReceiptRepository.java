@@ -0,0 +1,23 @@
+package com.uca.scheduleapp.repository;
+
+import com.uca.scheduleapp.model.BroadcastReceipt;
+import com.uca.scheduleapp.model.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface BroadcastReceiptRepository extends JpaRepository<BroadcastReceipt, Long>, BroadcastReceiptRepositoryCustom {
+    Optional<BroadcastReceipt> findByBroadcastIdAndUserId(Long broadcastId, Long userId);
+
+    void deleteByUser(User user);
+
+    @Modifying
+    @Query("DELETE FROM BroadcastReceipt r WHERE r.broadcast.id IN :broadcastIds")
+    int deleteByBroadcastIds(@Param("broadcastIds") Collection<Long> broadcastIds);
+}
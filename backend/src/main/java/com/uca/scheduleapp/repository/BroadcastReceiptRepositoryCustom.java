@@ -0,0 +1,12 @@
+package com.uca.scheduleapp.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface BroadcastReceiptRepositoryCustom {
+    /**
+     * Inserts a read receipt per broadcast id with multi-row INSERT IGNORE statements, skipping
+     * receipts that already exist. Returns the rows actually inserted.
+     */
+    int insertReadReceipts(Long userId, Collection<Long> broadcastIds, LocalDateTime readAt);
+}
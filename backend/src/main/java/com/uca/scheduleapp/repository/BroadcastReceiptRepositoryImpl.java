@@ -0,0 +1,44 @@
+package com.uca.scheduleapp.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class BroadcastReceiptRepositoryImpl implements BroadcastReceiptRepositoryCustom {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Rows per INSERT statement, to keep the statement and its parameter list bounded
+    private static final int CHUNK = 500;
+
+    @Override
+    public int insertReadReceipts(Long userId, Collection<Long> broadcastIds, LocalDateTime readAt) {
+        if (broadcastIds.isEmpty()) {
+            return 0;
+        }
+        Timestamp at = Timestamp.valueOf(readAt);
+        List<Long> ids = new ArrayList<>(broadcastIds);
+        int inserted = 0;
+        for (int from = 0; from < ids.size(); from += CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + CHUNK));
+            StringBuilder sql = new StringBuilder("INSERT IGNORE INTO broadcast_receipts "
+                    + "(broadcast_id, user_id, is_read, dismissed, updated_at) VALUES ");
+            List<Object> params = new ArrayList<>(chunk.size() * 3);
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "(?, ?, TRUE, FALSE, ?)" : ", (?, ?, TRUE, FALSE, ?)");
+                params.add(chunk.get(i));
+                params.add(userId);
+                params.add(at);
+            }
+            // A concurrent read-all may have written some of these receipts already; IGNORE skips them
+            // and the update count is the number of rows this call actually inserted
+            inserted += jdbcTemplate.update(sql.toString(), params.toArray());
+        }
+        return inserted;
+    }
+}
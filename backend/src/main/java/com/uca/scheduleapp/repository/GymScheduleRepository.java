@@ -6,18 +6,19 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.DayOfWeek;
 import java.time.LocalTime;
 import java.util.List;
 
 @Repository
-public interface GymScheduleRepository extends JpaRepository<GymSchedule, Long> {
+public interface GymScheduleRepository extends JpaRepository<GymSchedule, Long>, GymScheduleRepositoryCustom {
     List<GymSchedule> findByGender(GymSchedule.Gender gender);
     
     @Query("SELECT g FROM GymSchedule g WHERE g.gender = :gender AND g.day = :day " +
            "AND g.openTime < :endTime AND g.closeTime > :startTime")
     List<GymSchedule> findOverlappingSchedules(
         @Param("gender") GymSchedule.Gender gender,
-        @Param("day") String day,
+        @Param("day") DayOfWeek day,
         @Param("startTime") LocalTime startTime,
         @Param("endTime") LocalTime endTime
     );
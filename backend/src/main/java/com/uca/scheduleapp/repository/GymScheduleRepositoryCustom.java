@@ -0,0 +1,12 @@
+package com.uca.scheduleapp.repository;
+
+import com.uca.scheduleapp.dto.GymScheduleDTO;
+
+import java.util.List;
+
+public interface GymScheduleRepositoryCustom {
+    /**
+     * Inserts the rows as a single JDBC batch. Ids on the DTOs are ignored.
+     */
+    void insertGymSchedules(List<GymScheduleDTO> rows);
+}
@@ -0,0 +1,27 @@
+package com.uca.scheduleapp.repository;
+
+import com.uca.scheduleapp.dto.GymScheduleDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Time;
+import java.util.ArrayList;
+import java.util.List;
+
+public class GymScheduleRepositoryImpl implements GymScheduleRepositoryCustom {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertGymSchedules(List<GymScheduleDTO> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (GymScheduleDTO row : rows) {
+            args.add(new Object[] { row.getGender(), row.getDay().ordinal(),
+                    Time.valueOf(row.getOpenTime()), Time.valueOf(row.getCloseTime()) });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO gym_schedule (gender, day, open_time, close_time) VALUES (?, ?, ?, ?)", args);
+    }
+}
@@ -0,0 +1,59 @@
+package com.uca.scheduleapp.repository;
+
+import com.uca.scheduleapp.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JPQL for admin listings: optional filters, then keyset pagination on (sort column, id).
+ * The select passed in must end with a WHERE clause so filters can be appended with AND.
+ */
+final class ListingQuery {
+    private final StringBuilder jpql;
+    private final Map<String, Object> params = new HashMap<>();
+
+    ListingQuery(String selectWhere) {
+        this.jpql = new StringBuilder(selectWhere);
+    }
+
+    // Adds the condition only when the value is present
+    ListingQuery filter(String condition, String param, Object value) {
+        if (value != null) {
+            jpql.append(" AND ").append(condition);
+            params.put(param, value);
+        }
+        return this;
+    }
+
+    /**
+     * Orders by (sortPath, idPath), or by idPath alone when sortPath is null, and starts after
+     * the cursor when one is given. Sort columns are text, so the cursor value binds as a string.
+     */
+    <T> TypedQuery<T> build(EntityManager entityManager, Class<T> type, String sortPath, String idPath,
+                            boolean descending, KeysetCursor after) {
+        String op = descending ? " < " : " > ";
+        if (after != null) {
+            if (sortPath == null) {
+                jpql.append(" AND ").append(idPath).append(op).append(":afterId");
+            } else {
+                jpql.append(" AND (").append(sortPath).append(op).append(":afterValue OR (")
+                        .append(sortPath).append(" = :afterValue AND ").append(idPath).append(op).append(":afterId))");
+                params.put("afterValue", after.value());
+            }
+            params.put("afterId", after.id());
+        }
+        String direction = descending ? " DESC" : " ASC";
+        jpql.append(" ORDER BY ");
+        if (sortPath != null) {
+            jpql.append(sortPath).append(direction).append(", ");
+        }
+        jpql.append(idPath).append(direction);
+
+        TypedQuery<T> query = entityManager.createQuery(jpql.toString(), type);
+        params.forEach(query::setParameter);
+        return query;
+    }
+}
@@ -8,7 +8,7 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface MealRepository extends JpaRepository<Meal, Long> {
+public interface MealRepository extends JpaRepository<Meal, Long>, MealRepositoryCustom {
     List<Meal> findByStudentClass(StudentClass studentClass);
     List<Meal> findByStudentClassId(Long studentClassId);
 }
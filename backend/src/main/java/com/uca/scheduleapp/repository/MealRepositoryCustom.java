@@ -0,0 +1,32 @@
+package com.uca.scheduleapp.repository;
+
+import com.uca.scheduleapp.dto.MealDTO;
+import com.uca.scheduleapp.model.Meal;
+import com.uca.scheduleapp.model.StudentClass;
+import com.uca.scheduleapp.util.KeysetCursor;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface MealRepositoryCustom {
+    /**
+     * Admin listing filters; null fields are ignored. Meals are listed by id.
+     */
+    record Listing(Long studentClassId, StudentClass.YearLevel yearLevel, Meal.MealType type, String search,
+                   boolean descending) {
+    }
+
+    /**
+     * Inserts the rows as a single JDBC batch and sets the generated id on each DTO.
+     */
+    void insertMeals(List<MealDTO> rows);
+
+    List<MealDTO> findListing(Listing listing);
+
+    List<MealDTO> findListingPage(Listing listing, KeysetCursor after, int limit);
+
+    /**
+     * The whole listing as a forward-only stream; the caller must be in a transaction and close it.
+     */
+    Stream<MealDTO> streamListing(Listing listing);
+}
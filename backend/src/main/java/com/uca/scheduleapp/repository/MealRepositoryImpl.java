@@ -0,0 +1,88 @@
+package com.uca.scheduleapp.repository;
+
+import com.uca.scheduleapp.dto.MealDTO;
+import com.uca.scheduleapp.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Time;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class MealRepositoryImpl implements MealRepositoryCustom {
+    private static final String SELECT = "SELECT new com.uca.scheduleapp.dto.MealDTO("
+            + "m.id, m.type, m.timeStart, m.timeEnd, m.menu, c.id, c.name) "
+            + "FROM Meal m JOIN m.studentClass c WHERE 1 = 1";
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<MealDTO> findListing(Listing listing) {
+        return query(listing, null).getResultList();
+    }
+
+    @Override
+    public List<MealDTO> findListingPage(Listing listing, KeysetCursor after, int limit) {
+        return query(listing, after).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Stream<MealDTO> streamListing(Listing listing) {
+        return query(listing, null).setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE).getResultStream();
+    }
+
+    private TypedQuery<MealDTO> query(Listing listing, KeysetCursor after) {
+        ListingQuery query = new ListingQuery(SELECT)
+                .filter("c.id = :classId", "classId", listing.studentClassId())
+                .filter("c.yearLevel = :yearLevel", "yearLevel", listing.yearLevel())
+                .filter("m.type = :type", "type", listing.type());
+        if (listing.search() != null && !listing.search().isBlank()) {
+            query.filter("LOWER(m.menu) LIKE :search", "search", "%" + listing.search().trim().toLowerCase() + "%");
+        }
+        return query.build(entityManager, MealDTO.class, null, "m.id", listing.descending(), after);
+    }
+
+    @Override
+    public void insertMeals(List<MealDTO> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            try (PreparedStatement ps = con.prepareStatement("INSERT INTO meal "
+                    + "(student_class_id, type, time_start, time_end, menu) VALUES (?, ?, ?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS)) {
+                for (MealDTO row : rows) {
+                    ps.setLong(1, row.getStudentClassId());
+                    ps.setString(2, row.getType());
+                    ps.setTime(3, Time.valueOf(row.getTimeStart()));
+                    ps.setTime(4, Time.valueOf(row.getTimeEnd()));
+                    ps.setString(5, row.getMenu());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (MealDTO row : rows) {
+                        if (!keys.next()) {
+                            throw new IllegalStateException("Missing generated key for meal insert");
+                        }
+                        row.setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+}
@@ -2,16 +2,56 @@ package com.uca.scheduleapp.repository;
 
 import com.uca.scheduleapp.model.Notification;
 import com.uca.scheduleapp.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByUserOrderByCreatedAtDesc(User user);
 
+    // Keyset page: rows strictly older than (createdAt, id), served from idx_notifications_user_created
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findPageBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id, Pageable pageable);
+
     long countByUserAndIsReadFalse(User user);
 
+    // Retention: read rows past the cutoff with id above afterId, oldest first
+    @Query("SELECT n.id FROM Notification n WHERE n.isRead = true AND n.createdAt < :cutoff " +
+           "AND n.id > :afterId ORDER BY n.id")
+    List<Long> findReadIdsBefore(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") Long afterId,
+                                 Pageable pageable);
+
+    // Retention: rows of the given types repeated later for the same user with the same message.
+    // The EXISTS probe is an index range on (user_id, type, message_hash, id); message is only
+    // compared for rows whose hash already matched.
+    @Query("SELECT n.id FROM Notification n WHERE n.type IN :types AND n.id > :afterId AND EXISTS (" +
+           "SELECT m.id FROM Notification m WHERE m.user = n.user AND m.type = n.type " +
+           "AND m.messageHash = n.messageHash AND m.id > n.id AND m.message = n.message) ORDER BY n.id")
+    List<Long> findSupersededIds(@Param("types") Collection<String> types, @Param("afterId") Long afterId,
+                                 Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.id = :userId AND n.isRead = false")
+    int markAllRead(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.id = :userId AND n.isRead = false AND n.id IN :ids")
+    int markRead(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
     void deleteByUser(User user);
 }
@@ -1,14 +1,40 @@
 package com.uca.scheduleapp.repository;
 
+import com.uca.scheduleapp.dto.UniversityScheduleDTO;
 import com.uca.scheduleapp.model.TimetableSelection;
 import com.uca.scheduleapp.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface TimetableSelectionRepository extends JpaRepository<TimetableSelection, Long> {
+public interface TimetableSelectionRepository
+        extends JpaRepository<TimetableSelection, Long>, TimetableSelectionRepositoryCustom {
     List<TimetableSelection> findByUser(User user);
-    void deleteByUser(User user);
+
+    // Single round trip for the schedule and its student class, instead of two lazy loads per row
+    @Query("SELECT new com.uca.scheduleapp.dto.UniversityScheduleDTO(" +
+           "s.id, s.courseName, s.day, s.startTime, s.endTime, s.location, c.id, c.name) " +
+           "FROM TimetableSelection t JOIN t.schedule s JOIN s.studentClass c " +
+           "WHERE t.user.id = :userId ORDER BY t.id")
+    List<UniversityScheduleDTO> findScheduleDTOsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT t.schedule.id FROM TimetableSelection t WHERE t.user = :user")
+    List<Long> findScheduleIdsByUser(@Param("user") User user);
+
+    @Query("SELECT DISTINCT t.user.id FROM TimetableSelection t WHERE t.schedule.id = :scheduleId")
+    List<Long> findUserIdsByScheduleId(@Param("scheduleId") Long scheduleId);
+
+    @Modifying
+    @Query("DELETE FROM TimetableSelection t WHERE t.user = :user")
+    int deleteByUser(@Param("user") User user);
+
+    @Modifying
+    @Query("DELETE FROM TimetableSelection t WHERE t.user = :user AND t.schedule.id IN :scheduleIds")
+    int deleteByUserAndScheduleIds(@Param("user") User user, @Param("scheduleIds") Collection<Long> scheduleIds);
 }
@@ -0,0 +1,11 @@
+package com.uca.scheduleapp.repository;
+
+import java.util.Collection;
+
+public interface TimetableSelectionRepositoryCustom {
+    /**
+     * Inserts one selection per schedule id as a single JDBC batch.
+     * IDENTITY keys keep Hibernate from batching these inserts itself.
+     */
+    void insertSelections(Long userId, Collection<Long> scheduleIds);
+}
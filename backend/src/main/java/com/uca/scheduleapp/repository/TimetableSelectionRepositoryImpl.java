@@ -0,0 +1,25 @@
+package com.uca.scheduleapp.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class TimetableSelectionRepositoryImpl implements TimetableSelectionRepositoryCustom {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertSelections(Long userId, Collection<Long> scheduleIds) {
+        if (scheduleIds.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(scheduleIds.size());
+        for (Long scheduleId : scheduleIds) {
+            rows.add(new Object[] { userId, scheduleId });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO timetable_selections (user_id, schedule_id) VALUES (?, ?)", rows);
+    }
+}
@@ -1,5 +1,6 @@
 package com.uca.scheduleapp.repository;
 
+import com.uca.scheduleapp.dto.UniversityScheduleDTO;
 import com.uca.scheduleapp.model.StudentClass;
 import com.uca.scheduleapp.model.UniversitySchedule;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -7,19 +8,38 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.DayOfWeek;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface UniversityScheduleRepository extends JpaRepository<UniversitySchedule, Long> {
+public interface UniversityScheduleRepository extends JpaRepository<UniversitySchedule, Long>, UniversityScheduleRepositoryCustom {
     List<UniversitySchedule> findByStudentClass(StudentClass studentClass);
     List<UniversitySchedule> findByStudentClassId(Long studentClassId);
+
+    @Query("SELECT new com.uca.scheduleapp.dto.UniversityScheduleDTO(" +
+           "u.id, u.courseName, u.day, u.startTime, u.endTime, u.location, c.id, c.name) " +
+           "FROM UniversitySchedule u JOIN u.studentClass c")
+    List<UniversityScheduleDTO> findAllAsDTO();
+
+    // Existing lessons that a bulk insert has to fit around; served by the (student_class_id, day, start_time) index
+    @Query("SELECT new com.uca.scheduleapp.dto.UniversityScheduleDTO(" +
+           "u.id, u.courseName, u.day, u.startTime, u.endTime, u.location, c.id, c.name) " +
+           "FROM UniversitySchedule u JOIN u.studentClass c WHERE c.id IN :classIds AND u.day IN :days")
+    List<UniversityScheduleDTO> findDTOsByClassesAndDays(
+        @Param("classIds") Collection<Long> classIds,
+        @Param("days") Collection<DayOfWeek> days
+    );
+
+    @Query("SELECT u FROM UniversitySchedule u JOIN FETCH u.studentClass WHERE u.id IN :ids")
+    List<UniversitySchedule> findAllByIdWithStudentClass(@Param("ids") Collection<Long> ids);
     
     @Query("SELECT u FROM UniversitySchedule u WHERE u.studentClass = :studentClass " +
            "AND u.day = :day AND u.startTime < :endTime AND u.endTime > :startTime")
     List<UniversitySchedule> findOverlappingSchedules(
         @Param("studentClass") StudentClass studentClass,
-        @Param("day") String day,
+        @Param("day") DayOfWeek day,
         @Param("startTime") LocalTime startTime,
         @Param("endTime") LocalTime endTime
     );
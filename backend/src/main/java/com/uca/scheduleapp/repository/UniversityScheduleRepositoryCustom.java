@@ -0,0 +1,33 @@
+package com.uca.scheduleapp.repository;
+
+import com.uca.scheduleapp.dto.UniversityScheduleDTO;
+import com.uca.scheduleapp.model.StudentClass;
+import com.uca.scheduleapp.util.KeysetCursor;
+
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface UniversityScheduleRepositoryCustom {
+    /**
+     * Admin listing filters; null fields are ignored. sort is "id" or "course_name".
+     */
+    record Listing(Long studentClassId, StudentClass.YearLevel yearLevel, DayOfWeek day, String search,
+                   String sort, boolean descending) {
+    }
+
+    /**
+     * Inserts the rows as a single JDBC batch and sets the generated id on each DTO.
+     * IDENTITY keys keep Hibernate from batching these inserts itself.
+     */
+    void insertSchedules(List<UniversityScheduleDTO> rows);
+
+    List<UniversityScheduleDTO> findListing(Listing listing);
+
+    List<UniversityScheduleDTO> findListingPage(Listing listing, KeysetCursor after, int limit);
+
+    /**
+     * The whole listing as a forward-only stream; the caller must be in a transaction and close it.
+     */
+    Stream<UniversityScheduleDTO> streamListing(Listing listing);
+}
@@ -0,0 +1,95 @@
+package com.uca.scheduleapp.repository;
+
+import com.uca.scheduleapp.dto.UniversityScheduleDTO;
+import com.uca.scheduleapp.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Time;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class UniversityScheduleRepositoryImpl implements UniversityScheduleRepositoryCustom {
+    private static final String SELECT = "SELECT new com.uca.scheduleapp.dto.UniversityScheduleDTO("
+            + "u.id, u.courseName, u.day, u.startTime, u.endTime, u.location, c.id, c.name) "
+            + "FROM UniversitySchedule u JOIN u.studentClass c WHERE 1 = 1";
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UniversityScheduleDTO> findListing(Listing listing) {
+        return query(listing, null).getResultList();
+    }
+
+    @Override
+    public List<UniversityScheduleDTO> findListingPage(Listing listing, KeysetCursor after, int limit) {
+        return query(listing, after).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Stream<UniversityScheduleDTO> streamListing(Listing listing) {
+        return query(listing, null).setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE).getResultStream();
+    }
+
+    private TypedQuery<UniversityScheduleDTO> query(Listing listing, KeysetCursor after) {
+        ListingQuery query = new ListingQuery(SELECT)
+                .filter("c.id = :classId", "classId", listing.studentClassId())
+                .filter("c.yearLevel = :yearLevel", "yearLevel", listing.yearLevel())
+                .filter("u.day = :day", "day", listing.day());
+        if (listing.search() != null && !listing.search().isBlank()) {
+            query.filter("(LOWER(u.courseName) LIKE :search OR LOWER(u.location) LIKE :search)", "search",
+                    "%" + listing.search().trim().toLowerCase() + "%");
+        }
+        String sortPath = switch (listing.sort() == null ? "id" : listing.sort()) {
+            case "id" -> null;
+            case "course_name" -> "u.courseName";
+            default -> throw new RuntimeException("Unsupported sort: " + listing.sort());
+        };
+        return query.build(entityManager, UniversityScheduleDTO.class, sortPath, "u.id", listing.descending(), after);
+    }
+
+    @Override
+    public void insertSchedules(List<UniversityScheduleDTO> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            try (PreparedStatement ps = con.prepareStatement("INSERT INTO university_schedule "
+                    + "(student_class_id, course_name, day, start_time, end_time, location) VALUES (?, ?, ?, ?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS)) {
+                for (UniversityScheduleDTO row : rows) {
+                    ps.setLong(1, row.getStudentClassId());
+                    ps.setString(2, row.getCourseName());
+                    ps.setInt(3, row.getDay().ordinal());
+                    ps.setTime(4, Time.valueOf(row.getStartTime()));
+                    ps.setTime(5, Time.valueOf(row.getEndTime()));
+                    ps.setString(6, row.getLocation());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (UniversityScheduleDTO row : rows) {
+                        if (!keys.next()) {
+                            throw new IllegalStateException("Missing generated key for university_schedule insert");
+                        }
+                        row.setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+}
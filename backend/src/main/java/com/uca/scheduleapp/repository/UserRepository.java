@@ -2,13 +2,18 @@ package com.uca.scheduleapp.repository;
 
 import com.uca.scheduleapp.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
     Optional<User> findByResetToken(String resetToken);
@@ -16,5 +21,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
 
     List<User> findByStudentClassId(Long studentClassId);
+
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id AND u.isActive = true")
+    Optional<Integer> findTokenVersion(@Param("id") Long id);
+
+    @Query("SELECT u.calendarTokenVersion FROM User u WHERE u.id = :id AND u.isActive = true")
+    Optional<Integer> findCalendarTokenVersion(@Param("id") Long id);
+
+    @Query("SELECT u.timetableUpdatedAt FROM User u WHERE u.id = :id")
+    Optional<LocalDateTime> findTimetableUpdatedAt(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE User u SET u.timetableUpdatedAt = :at WHERE u.id IN :ids")
+    int touchTimetables(@Param("ids") Collection<Long> ids, @Param("at") LocalDateTime at);
 }
 
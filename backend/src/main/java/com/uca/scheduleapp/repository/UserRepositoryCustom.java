@@ -0,0 +1,29 @@
+package com.uca.scheduleapp.repository;
+
+import com.uca.scheduleapp.dto.UserResponse;
+import com.uca.scheduleapp.model.StudentClass;
+import com.uca.scheduleapp.util.KeysetCursor;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface UserRepositoryCustom {
+    /**
+     * Admin listing filters; null fields are ignored. sort is "id" or "username".
+     */
+    record Listing(Long studentClassId, StudentClass.YearLevel yearLevel, Boolean superuser, String search,
+                   String sort, boolean descending) {
+    }
+
+    List<UserResponse> findListing(Listing listing);
+
+    /**
+     * Up to limit rows after the cursor (or from the start when it is null).
+     */
+    List<UserResponse> findListingPage(Listing listing, KeysetCursor after, int limit);
+
+    /**
+     * The whole listing as a forward-only stream; the caller must be in a transaction and close it.
+     */
+    Stream<UserResponse> streamListing(Listing listing);
+}
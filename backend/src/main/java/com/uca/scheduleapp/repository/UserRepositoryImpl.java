@@ -0,0 +1,53 @@
+package com.uca.scheduleapp.repository;
+
+import com.uca.scheduleapp.dto.UserResponse;
+import com.uca.scheduleapp.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public class UserRepositoryImpl implements UserRepositoryCustom {
+    private static final String SELECT = "SELECT new com.uca.scheduleapp.dto.UserResponse("
+            + "u.id, u.username, u.email, u.gender, c.id, c.name, c.yearLevel, u.isSuperuser) "
+            + "FROM User u LEFT JOIN u.studentClass c WHERE 1 = 1";
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UserResponse> findListing(Listing listing) {
+        return query(listing, null).getResultList();
+    }
+
+    @Override
+    public List<UserResponse> findListingPage(Listing listing, KeysetCursor after, int limit) {
+        return query(listing, after).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Stream<UserResponse> streamListing(Listing listing) {
+        return query(listing, null).setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE).getResultStream();
+    }
+
+    private TypedQuery<UserResponse> query(Listing listing, KeysetCursor after) {
+        ListingQuery query = new ListingQuery(SELECT)
+                .filter("c.id = :classId", "classId", listing.studentClassId())
+                .filter("c.yearLevel = :yearLevel", "yearLevel", listing.yearLevel())
+                .filter("u.isSuperuser = :superuser", "superuser", listing.superuser());
+        if (listing.search() != null && !listing.search().isBlank()) {
+            query.filter("(LOWER(u.username) LIKE :search OR LOWER(u.email) LIKE :search)", "search",
+                    "%" + listing.search().trim().toLowerCase() + "%");
+        }
+        String sortPath = switch (listing.sort() == null ? "id" : listing.sort()) {
+            case "id" -> null;
+            case "username" -> "u.username";
+            default -> throw new RuntimeException("Unsupported sort: " + listing.sort());
+        };
+        return query.build(entityManager, UserResponse.class, sortPath, "u.id", listing.descending(), after);
+    }
+}
@@ -0,0 +1,93 @@
+package com.uca.scheduleapp.security;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts requests the JWT filter could not authenticate, by reason. Log lines are sampled to at
+ * most one per reason per interval and written from a background thread, so the request path
+ * never blocks on logging.
+ */
+@Component
+public class AuthFailureMetrics {
+    private static final Logger log = LoggerFactory.getLogger(AuthFailureMetrics.class);
+
+    public enum Reason {
+        MISSING_HEADER,
+        NOT_BEARER,
+        PARSE_FAILURE,
+        USER_NOT_FOUND,
+        TOKEN_REJECTED
+    }
+
+    @Value("${security.auth-log.interval:60000}")
+    private long logIntervalMillis;
+
+    private final Map<Reason, LongAdder> counts = new EnumMap<>(Reason.class);
+    private final Map<Reason, AtomicLong> lastLogged = new EnumMap<>(Reason.class);
+    private final Map<Reason, AtomicLong> sinceLastLog = new EnumMap<>(Reason.class);
+
+    // Single daemon writer; events are dropped rather than queued without bound
+    private final ThreadPoolExecutor logWriter = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(256), r -> {
+                Thread t = new Thread(r, "auth-failure-log");
+                t.setDaemon(true);
+                return t;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    public AuthFailureMetrics() {
+        for (Reason reason : Reason.values()) {
+            counts.put(reason, new LongAdder());
+            lastLogged.put(reason, new AtomicLong());
+            sinceLastLog.put(reason, new AtomicLong());
+        }
+    }
+
+    public void record(Reason reason, String path, String detail) {
+        counts.get(reason).increment();
+        long occurrences = sinceLastLog.get(reason).incrementAndGet();
+
+        long now = System.currentTimeMillis();
+        AtomicLong last = lastLogged.get(reason);
+        long previous = last.get();
+        if (now - previous < logIntervalMillis || !last.compareAndSet(previous, now)) {
+            return;
+        }
+        sinceLastLog.get(reason).addAndGet(-occurrences);
+        logWriter.execute(() -> write(reason, path, detail, occurrences));
+    }
+
+    public Map<String, Long> snapshot() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Reason reason : Reason.values()) {
+            result.put(reason.name().toLowerCase(), counts.get(reason).sum());
+        }
+        return result;
+    }
+
+    private void write(Reason reason, String path, String detail, long occurrences) {
+        // Missing or non-Bearer headers are normal for public routes, so keep them out of the default log
+        if (reason == Reason.MISSING_HEADER || reason == Reason.NOT_BEARER) {
+            log.debug("auth_failure reason={} path={} occurrences={} detail={}", reason, path, occurrences, detail);
+        } else {
+            log.warn("auth_failure reason={} path={} occurrences={} detail={}", reason, path, occurrences, detail);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        logWriter.shutdown();
+    }
+}
@@ -1,5 +1,6 @@
 package com.uca.scheduleapp.security;
 
+import com.uca.scheduleapp.model.User;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,6 +10,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -23,14 +25,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersions;
+
+    @Autowired
+    private AuthFailureMetrics authFailures;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return PublicEndpoints.MATCHER.matches(request);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
 
-        if (request.getServletPath().contains("/token")) {
-            chain.doFilter(request, response);
-            return;
-        }
         final String authorizationHeader = request.getHeader("Authorization");
 
         String username = null;
@@ -41,38 +53,44 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             try {
                 username = jwtUtil.extractUsername(jwt);
             } catch (Exception e) {
-                System.err.println(
-                        "JWT extractUsername failed for path=" + request.getRequestURI() + ": " + e.getMessage());
-                e.printStackTrace();
+                authFailures.record(AuthFailureMetrics.Reason.PARSE_FAILURE, request.getRequestURI(), e.getMessage());
             }
         } else if (authorizationHeader != null) {
-            System.err.println("Authorization header present but not Bearer for path=" + request.getRequestURI());
-        }
-
-        if (authorizationHeader == null) {
-            System.err.println("No Authorization header for path=" + request.getRequestURI());
-        }
-
-        if (username == null && jwt != null) {
-            System.err.println("JWT present but username could not be extracted for path=" + request.getRequestURI());
+            authFailures.record(AuthFailureMetrics.Reason.NOT_BEARER, request.getRequestURI(), null);
+        } else {
+            authFailures.record(AuthFailureMetrics.Reason.MISSING_HEADER, request.getRequestURI(), null);
         }
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+                // Fat tokens carry everything the services need; stale ones fall back to a real lookup
+                UserDetails userDetails = jwtUtil.extractPrincipal(jwt);
+                if (userDetails != null && !tokenVersions.isCurrent(
+                        ((User) userDetails).getId(), ((User) userDetails).getTokenVersion())) {
+                    userDetails = null;
+                }
+                if (userDetails == null) {
+                    userDetails = principalCache.get(username);
+                }
+                if (userDetails == null) {
+                    userDetails = this.userDetailsService.loadUserByUsername(username);
+                    principalCache.put(username, userDetails);
+                }
 
                 if (jwtUtil.validateToken(jwt, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                } else {
+                    authFailures.record(AuthFailureMetrics.Reason.TOKEN_REJECTED, request.getRequestURI(), username);
                 }
+            } catch (UsernameNotFoundException e) {
+                // User not found or ambiguous (duplicate): do NOT set authentication, so it will
+                // result in 401 (if secured) or proceed.
+                authFailures.record(AuthFailureMetrics.Reason.USER_NOT_FOUND, request.getRequestURI(), e.getMessage());
             } catch (Exception e) {
-                // If user not found or ambiguous (duplicate), or any other error, validation
-                // fails.
-                // We log it and do NOT set authentication, so it will result in 401 (if
-                // secured) or proceed.
-                System.err.println("Could not authenticate user " + username + ": " + e.getMessage());
+                authFailures.record(AuthFailureMetrics.Reason.TOKEN_REJECTED, request.getRequestURI(), e.getMessage());
             }
         }
         chain.doFilter(request, response);
@@ -1,14 +1,24 @@
 package com.uca.scheduleapp.security;
 
+import com.uca.scheduleapp.model.StudentClass;
+import com.uca.scheduleapp.model.User;
+import com.uca.scheduleapp.util.CacheRegistry;
+import com.uca.scheduleapp.util.TtlCache;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -16,14 +26,55 @@ import java.util.function.Function;
 
 @Component
 public class JwtUtil {
+    // Claims embedded when jwt.fat-claims is enabled
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_USERNAME = "name";
+    private static final String CLAIM_SUPERUSER = "su";
+    private static final String CLAIM_STAFF = "staff";
+    private static final String CLAIM_GENDER = "gender";
+    private static final String CLAIM_STUDENT_CLASS = "cls";
+    private static final String CLAIM_VERSION = "ver";
+
+    // Calendar feed tokens have no subject, so they can never authenticate an API request
+    private static final String CLAIM_TYPE = "typ";
+    private static final String CALENDAR_TYPE = "ics";
+    private static final String CLAIM_CALENDAR_USER = "cal";
+    private static final String CLAIM_CALENDAR_VERSION = "cv";
+
+    /** The user and calendar token version a calendar feed token was issued for. */
+    public record CalendarToken(long userId, int version) {
+    }
+
+    @Autowired
+    private CacheRegistry cacheRegistry;
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    @Value("${jwt.fat-claims:false}")
+    private boolean fatClaims;
+
+    @Value("${jwt.claims-cache.size:10000}")
+    private int claimsCacheSize;
+
+    @Value("${jwt.claims-cache.ttl:300000}")
+    private long claimsCacheTtl;
+
+    // Built once: deriving the HMAC key and the parser on every call was measurable per request.
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    // Verified claims keyed by token hash, so repeat requests with the same token skip the HMAC check.
+    private TtlCache<String, Claims> claimsCache;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
+        claimsCache = cacheRegistry.create("jwt-claims", claimsCacheSize, claimsCacheTtl);
     }
 
     public String extractUsername(String token) {
@@ -40,48 +91,136 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        String key = hashToken(token);
+        Claims claims = claimsCache.get(key);
+        if (claims != null) {
+            return claims;
+        }
+        claims = parser.parseSignedClaims(token).getPayload();
+        // Never keep a token around longer than it is valid
+        Date exp = claims.getExpiration();
+        claimsCache.put(key, claims, exp != null ? exp.getTime() : Long.MAX_VALUE);
+        return claims;
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
         // CRITICAL: Usernames are not unique, so we uses Email as the token subject.
         if (userDetails instanceof com.uca.scheduleapp.model.User) {
-            return createToken(claims, ((com.uca.scheduleapp.model.User) userDetails).getEmail());
+            User user = (User) userDetails;
+            if (fatClaims) {
+                claims.put(CLAIM_USER_ID, user.getId());
+                claims.put(CLAIM_USERNAME, user.getUsername());
+                claims.put(CLAIM_SUPERUSER, Boolean.TRUE.equals(user.getIsSuperuser()));
+                claims.put(CLAIM_STAFF, Boolean.TRUE.equals(user.getIsStaff()));
+                claims.put(CLAIM_GENDER, user.getGender() != null ? user.getGender().name() : null);
+                claims.put(CLAIM_STUDENT_CLASS, user.getStudentClass() != null ? user.getStudentClass().getId() : null);
+                claims.put(CLAIM_VERSION, user.getTokenVersion() != null ? user.getTokenVersion() : 0);
+            }
+            return createToken(claims, user.getEmail());
         }
         return createToken(claims, userDetails.getUsername());
     }
 
+    /**
+     * Builds a detached principal from the signed claims of a fat token, or returns null for
+     * regular tokens. Only the fields carried in the token are set; callers must check the
+     * token version and must not persist the returned instance.
+     */
+    public User extractPrincipal(String token) {
+        Claims claims = extractAllClaims(token);
+        Long id = claims.get(CLAIM_USER_ID, Long.class);
+        if (id == null) {
+            return null;
+        }
+        User user = new User();
+        user.setId(id);
+        user.setEmail(claims.getSubject());
+        user.setUsername(claims.get(CLAIM_USERNAME, String.class));
+        user.setIsSuperuser(Boolean.TRUE.equals(claims.get(CLAIM_SUPERUSER, Boolean.class)));
+        user.setIsStaff(Boolean.TRUE.equals(claims.get(CLAIM_STAFF, Boolean.class)));
+        user.setIsActive(true);
+        String gender = claims.get(CLAIM_GENDER, String.class);
+        if (gender != null) {
+            user.setGender(User.Gender.valueOf(gender));
+        }
+        Long studentClassId = claims.get(CLAIM_STUDENT_CLASS, Long.class);
+        if (studentClassId != null) {
+            StudentClass studentClass = new StudentClass();
+            studentClass.setId(studentClassId);
+            user.setStudentClass(studentClass);
+        }
+        user.setTokenVersion(claims.get(CLAIM_VERSION, Integer.class));
+        return user;
+    }
+
+    /**
+     * Long-lived token for the unauthenticated calendar subscription URL. It stays valid until
+     * the user's calendar token version changes.
+     */
+    public String generateCalendarToken(Long userId, int calendarTokenVersion) {
+        return Jwts.builder()
+                .claim(CLAIM_TYPE, CALENDAR_TYPE)
+                .claim(CLAIM_CALENDAR_USER, userId)
+                .claim(CLAIM_CALENDAR_VERSION, calendarTokenVersion)
+                .issuedAt(new Date(System.currentTimeMillis()))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    /**
+     * Returns what a calendar token was issued for, or null if the token is not one. Tokens issued
+     * before calendar versions existed count as version 0, so rotating once revokes them.
+     */
+    public CalendarToken parseCalendarToken(String token) {
+        Claims claims = extractAllClaims(token);
+        if (!CALENDAR_TYPE.equals(claims.get(CLAIM_TYPE, String.class))) {
+            return null;
+        }
+        Long userId = claims.get(CLAIM_CALENDAR_USER, Long.class);
+        if (userId == null) {
+            return null;
+        }
+        Integer version = claims.get(CLAIM_CALENDAR_VERSION, Integer.class);
+        return new CalendarToken(userId, version != null ? version : 0);
+    }
+
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
                 .claims(claims)
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token); // This is the subject (Email or Username)
+        final Claims claims = extractAllClaims(token);
+        final String username = claims.getSubject(); // This is the subject (Email or Username)
 
         if (userDetails instanceof com.uca.scheduleapp.model.User) {
             String userEmail = ((com.uca.scheduleapp.model.User) userDetails).getEmail();
             // If token subject matches Email, it's valid
             if (username.equals(userEmail)) {
-                return !isTokenExpired(token);
+                return !isTokenExpired(claims);
             }
         }
 
         // Fallback: Check if token subject matches Username (legacy/unique users)
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return (username.equals(userDetails.getUsername()) && !isTokenExpired(claims));
     }
 }
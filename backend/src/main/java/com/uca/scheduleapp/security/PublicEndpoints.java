@@ -0,0 +1,27 @@
+package com.uca.scheduleapp.security;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+/**
+ * Routes that need no token. Shared by the permitAll rule in SecurityConfig and the JWT
+ * filter, which skips these requests entirely instead of inspecting their headers.
+ */
+public final class PublicEndpoints {
+    public static final RequestMatcher MATCHER = new OrRequestMatcher(
+            // Cheapest check first: preflights are the bulk of public traffic
+            new AntPathRequestMatcher("/**", HttpMethod.OPTIONS.name()),
+            new AntPathRequestMatcher("/error"),
+            new AntPathRequestMatcher("/token/**"),
+            new AntPathRequestMatcher("/register/**"),
+            new AntPathRequestMatcher("/api/forgot-password/**"),
+            new AntPathRequestMatcher("/api/reset-password/**"),
+            new AntPathRequestMatcher("/student-classes/**", HttpMethod.GET.name()),
+            // Calendar subscription feeds authenticate with the token in the path
+            new AntPathRequestMatcher("/timetable/ics/feed/**", HttpMethod.GET.name()));
+
+    private PublicEndpoints() {
+    }
+}
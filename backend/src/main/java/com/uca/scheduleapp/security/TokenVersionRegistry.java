@@ -0,0 +1,86 @@
+package com.uca.scheduleapp.security;
+
+import com.uca.scheduleapp.model.User;
+import com.uca.scheduleapp.repository.UserRepository;
+import com.uca.scheduleapp.util.CacheRegistry;
+import com.uca.scheduleapp.util.ReadThroughCache;
+import com.uca.scheduleapp.util.TransactionHooks;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Current token version per user, read from users.token_version behind a short-TTL cache so
+ * claim-carrying tokens are checked for staleness without a database lookup on every request.
+ * Changes made on this instance apply on commit; other instances see them within the TTL.
+ * Deleted, deactivated and unknown users are never current, so their tokens fall back to a
+ * real user lookup.
+ */
+@Component
+public class TokenVersionRegistry {
+    private static final int REVOKED = Integer.MAX_VALUE;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheRegistry cacheRegistry;
+
+    @Value("${security.token-version-cache.size:10000}")
+    private int cacheSize;
+
+    @Value("${security.token-version-cache.ttl:30000}")
+    private long cacheTtl;
+
+    private ReadThroughCache<Long, Integer> versions;
+
+    @PostConstruct
+    void init() {
+        versions = cacheRegistry.createReadThrough("token-versions", cacheSize, cacheTtl);
+    }
+
+    public boolean isCurrent(Long userId, Integer tokenVersion) {
+        if (userId == null || tokenVersion == null) {
+            return false;
+        }
+        int current = versions.get(userId, () -> userRepository.findTokenVersion(userId).orElse(REVOKED));
+        return current != REVOKED && tokenVersion >= current;
+    }
+
+    /** The user fields that are embedded in token claims. */
+    public record ClaimFields(String email, String username, User.Gender gender, Long studentClassId,
+                              Boolean superuser, Boolean staff) {
+    }
+
+    /**
+     * Snapshot of the fields that are embedded in token claims; compare it with
+     * {@link #bumpIfChanged} after modifying the user.
+     */
+    public ClaimFields fingerprint(User user) {
+        return new ClaimFields(
+                user.getEmail(),
+                user.getUsername(),
+                user.getGender(),
+                user.getStudentClass() != null ? user.getStudentClass().getId() : null,
+                user.getIsSuperuser(),
+                user.getIsStaff());
+    }
+
+    /**
+     * Increments the user's token version if any claim field changed. The caller saves the user;
+     * the cached version is only dropped once that save commits.
+     */
+    public void bumpIfChanged(User user, ClaimFields fingerprintBefore) {
+        if (fingerprint(user).equals(fingerprintBefore)) {
+            return;
+        }
+        user.setTokenVersion((user.getTokenVersion() != null ? user.getTokenVersion() : 0) + 1);
+        Long id = user.getId();
+        TransactionHooks.afterCommit(() -> versions.invalidate(id));
+    }
+
+    public void revoke(Long userId) {
+        TransactionHooks.afterCommit(() -> versions.invalidate(userId));
+    }
+}
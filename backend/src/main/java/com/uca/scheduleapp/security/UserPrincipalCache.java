@@ -0,0 +1,61 @@
+package com.uca.scheduleapp.security;
+
+import com.uca.scheduleapp.model.User;
+import com.uca.scheduleapp.util.CacheRegistry;
+import com.uca.scheduleapp.util.TransactionHooks;
+import com.uca.scheduleapp.util.TtlCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authenticated principals keyed by token subject (email, or username for legacy tokens),
+ * so the JWT filter does not hit the users table on every request.
+ */
+@Component
+public class UserPrincipalCache {
+    @Autowired
+    private CacheRegistry cacheRegistry;
+
+    @Value("${security.principal-cache.size:5000}")
+    private int maxSize;
+
+    @Value("${security.principal-cache.ttl:60000}")
+    private long ttl;
+
+    private TtlCache<String, UserDetails> cache;
+
+    @PostConstruct
+    void init() {
+        cache = cacheRegistry.create("security-principals", maxSize, ttl);
+    }
+
+    public UserDetails get(String subject) {
+        return cache.get(subject);
+    }
+
+    public void put(String subject, UserDetails userDetails) {
+        cache.put(subject, userDetails);
+    }
+
+    /**
+     * Drops every cached principal for this user. Evicts now and again after commit,
+     * so a request racing the update cannot leave the old state cached.
+     */
+    public void evict(User user) {
+        if (user == null) {
+            return;
+        }
+        evictNow(user);
+        TransactionHooks.afterCommit(() -> evictNow(user));
+    }
+
+    private void evictNow(User user) {
+        Long id = user.getId();
+        cache.invalidateIf((subject, cached) -> subject.equals(user.getEmail())
+                || subject.equals(user.getUsername())
+                || (id != null && cached instanceof User && id.equals(((User) cached).getId())));
+    }
+}
@@ -5,8 +5,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.uca.scheduleapp.dto.TimetableResponse;
 import com.uca.scheduleapp.dto.UniversityScheduleDTO;
 import com.uca.scheduleapp.model.User;
+import com.uca.scheduleapp.util.CacheRegistry;
+import com.uca.scheduleapp.util.TtlCache;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -14,10 +18,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @Service
@@ -26,6 +35,12 @@ public class AIService {
     @Autowired
     private TimetableService timetableService;
 
+    @Autowired
+    private CacheRegistry cacheRegistry;
+
+    @Autowired
+    private RestTemplateBuilder restTemplateBuilder;
+
     @Value("${ai.api.key}")
     private String apiKey;
 
@@ -35,22 +50,46 @@ public class AIService {
     @Value("${ai.model:gpt-3.5-turbo}")
     private String model;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Value("${ai.cache.size:500}")
+    private int cacheSize;
+
+    @Value("${ai.cache.ttl:1800000}")
+    private long cacheTtl;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    private RestTemplate restTemplate;
+
+    // Answers keyed by normalized question and a hash of the system prompt
+    private TtlCache<String, String> responseCache;
+
+    @PostConstruct
+    void init() {
+        restTemplate = restTemplateBuilder.build();
+        responseCache = cacheRegistry.create("ai-chat", cacheSize, cacheTtl);
+    }
+
     public String chat(User user, String userMessage) {
         TimetableResponse timetable = timetableService.getMyTimetable(user);
         String scheduleContext = formatScheduleForAI(timetable, user);
+        String systemPrompt = "You are a helpful university schedule assistant. " +
+                "Current Date: " + LocalDate.now() + ". " +
+                "Here is the student's schedule: " + scheduleContext + ". " +
+                "Answer the student's questions based on this schedule. Keep answers concise.";
+
+        // The prompt carries the date and the formatted schedule, so a timetable change or a new day
+        // is a new key; students with the same timetable share answers
+        String cacheKey = normalizeQuestion(userMessage) + "|" + promptHash(systemPrompt);
+        String cached = responseCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
 
         Map<String, Object> requestBody = new HashMap<>();
         requestBody.put("model", model);
 
         List<Map<String, String>> messages = new ArrayList<>();
-        messages.add(Map.of("role", "system", "content",
-                "You are a helpful university schedule assistant. " +
-                        "Current Date: " + LocalDate.now() + ". " +
-                        "Here is the student's schedule: " + scheduleContext + ". " +
-                        "Answer the student's questions based on this schedule. Keep answers concise."));
+        messages.add(Map.of("role", "system", "content", systemPrompt));
         messages.add(Map.of("role", "user", "content", userMessage));
 
         requestBody.put("messages", messages);
@@ -64,7 +103,12 @@ public class AIService {
         try {
             ResponseEntity<String> response = restTemplate.postForEntity(apiUrl, entity, String.class);
             JsonNode root = objectMapper.readTree(response.getBody());
-            return root.path("choices").get(0).path("message").path("content").asText();
+            String answer = root.path("choices").get(0).path("message").path("content").asText();
+            // Error replies below are never cached, so the next attempt retries the API
+            if (!answer.isBlank()) {
+                responseCache.put(cacheKey, answer);
+            }
+            return answer;
         } catch (Exception e) {
             e.printStackTrace();
             return "Sorry, I am having trouble connecting to my brain right now. Please try again later. (Error: "
@@ -72,14 +116,31 @@ public class AIService {
         }
     }
 
+    // Case, spacing and trailing punctuation do not change the answer
+    private static String normalizeQuestion(String question) {
+        return question.trim().toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ")
+                .replaceAll("[\\s?!.]+$", "");
+    }
+
+    private String promptHash(String systemPrompt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((model + "\n" + systemPrompt).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     private String formatScheduleForAI(TimetableResponse timetable, User user) {
         if (timetable.getEntries().isEmpty()) {
             return "The user has no classes in their timetable.";
         }
         StringBuilder sb = new StringBuilder();
         for (UniversityScheduleDTO entry : timetable.getEntries()) {
-            sb.append(String.format("[%s] %s at %s (%s-%s), Location: %s. ",
-                    entry.getDay(),
+            sb.append(String.format("[%s] %s (%s-%s), Location: %s. ",
+                    entry.getDayName(),
                     entry.getCourseName(),
                     entry.getStartTime(),
                     entry.getEndTime(),
@@ -0,0 +1,168 @@
+package com.uca.scheduleapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uca.scheduleapp.util.KeysetCursor;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Shared plumbing for the admin user, lesson and meal listings: page sizing, keyset cursors,
+ * NDJSON export and the responses the controllers return for them.
+ */
+@Component
+public class AdminListings {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    /**
+     * One page of a listing. nextCursor is null on the last page.
+     */
+    public record Page<T>(List<T> items, String nextCursor) {
+    }
+
+    /**
+     * Writes an export for an already parsed listing.
+     */
+    @FunctionalInterface
+    public interface Export<L> {
+        void write(L listing, OutputStream out) throws IOException;
+    }
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${admin.listing.page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${admin.listing.max-page-size:500}")
+    private int maxPageSize;
+
+    private TransactionTemplate exportTx;
+
+    @PostConstruct
+    void init() {
+        exportTx = new TransactionTemplate(transactionManager);
+        exportTx.setReadOnly(true);
+    }
+
+    public int pageSize(Integer limit) {
+        return limit == null || limit <= 0 ? defaultPageSize : Math.min(limit, maxPageSize);
+    }
+
+    public KeysetCursor decode(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+    }
+
+    /**
+     * Turns a fetch of size + 1 rows into a page; the extra row only signals that more exist.
+     * sortValue is null for listings sorted by id alone.
+     */
+    public <T> Page<T> page(List<T> rows, int size, Function<T, String> sortValue, Function<T, Long> id) {
+        if (rows.size() <= size) {
+            return new Page<>(rows, null);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, size));
+        T last = items.get(size - 1);
+        String value = sortValue != null ? sortValue.apply(last) : "";
+        return new Page<>(items, new KeysetCursor(value, id.apply(last)).encode());
+    }
+
+    /**
+     * Writes one JSON object per line while the rows stream out of a read-only transaction,
+     * so an export of any size holds one row in memory at a time.
+     */
+    public <T> void writeNdjson(Supplier<Stream<T>> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            exportTx.executeWithoutResult(status -> {
+                try (Stream<T> stream = rows.get()) {
+                    stream.forEach(row -> {
+                        try {
+                            writer.write(objectMapper.writeValueAsString(row));
+                            writer.write('\n');
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    /**
+     * Whether a listing request carries a cursor, limit, filter or sort. Requests without any of
+     * them keep returning the full, unpaged list.
+     */
+    public static boolean isPaged(Object... params) {
+        for (Object param : params) {
+            if (param != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the page as the body with its cursor in X-Next-Cursor. An unknown filter, sort or
+     * cursor fails inside the supplier and becomes a 400.
+     */
+    public <T> ResponseEntity<List<T>> toResponse(Supplier<Page<T>> listing) {
+        Page<T> page;
+        try {
+            page = listing.get();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header("X-Next-Cursor", page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    /**
+     * Streams an export as an NDJSON attachment. The listing is parsed before the response starts,
+     * so bad parameters still get a 400 instead of a truncated body.
+     */
+    public <L> ResponseEntity<StreamingResponseBody> toNdjsonResponse(String filename, Supplier<L> listing,
+                                                                    Export<L> export) {
+        L parsed;
+        try {
+            parsed = listing.get();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> export.write(parsed, out);
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+}
@@ -7,6 +7,9 @@ import com.uca.scheduleapp.repository.StudentClassRepository;
 import com.uca.scheduleapp.repository.UserRepository;
 import com.uca.scheduleapp.security.CustomUserDetailsService;
 import com.uca.scheduleapp.security.JwtUtil;
+import com.uca.scheduleapp.security.TokenVersionRegistry;
+import com.uca.scheduleapp.security.UserPrincipalCache;
+import com.uca.scheduleapp.util.TransactionHooks;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -36,6 +39,21 @@ public class AuthService {
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersions;
+
+    @Autowired
+    private TimetableService timetableService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private SearchService searchService;
+
     public JwtResponse login(LoginRequest request) {
         authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()));
@@ -66,7 +84,9 @@ public class AuthService {
         user.setIsActive(true);
 
         User savedUser = userRepository.save(user);
-        return toUserResponse(savedUser);
+        UserResponse response = toUserResponse(savedUser);
+        TransactionHooks.afterCommit(() -> searchService.upsertUser(response));
+        return response;
     }
 
     public UserResponse getCurrentUser(User principal) {
@@ -76,7 +96,12 @@ public class AuthService {
         return toUserResponse(user);
     }
 
-    public UserResponse updateCurrentUser(User user, RegisterRequest request) {
+    public UserResponse updateCurrentUser(User principal, RegisterRequest request) {
+        // The principal may be a detached token-only view of the user, so never save it directly
+        User user = userRepository.findById(principal.getId())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        principalCache.evict(user);
+        TokenVersionRegistry.ClaimFields claimsBefore = tokenVersions.fingerprint(user);
         if (request.getEmail() != null) {
             user.setEmail(request.getEmail());
         }
@@ -87,16 +112,27 @@ public class AuthService {
             Optional<StudentClass> studentClass = studentClassRepository.findById(request.getStudentClass());
             studentClass.ifPresent(user::setStudentClass);
         }
+        tokenVersions.bumpIfChanged(user, claimsBefore);
         User savedUser = userRepository.save(user);
-        return toUserResponse(savedUser);
+        principalCache.evict(savedUser);
+        timetableService.evictTimetable(savedUser.getId());
+        notificationService.evictUnreadCount(savedUser.getId());
+        UserResponse response = toUserResponse(savedUser);
+        TransactionHooks.afterCommit(() -> searchService.upsertUser(response));
+        return response;
     }
 
-    public void changePassword(User user, ChangePasswordRequest request) {
+    public void changePassword(User principal, ChangePasswordRequest request) {
+        User user = userRepository.findById(principal.getId())
+                .orElseThrow(() -> new RuntimeException("User not found"));
         if (!passwordEncoder.matches(request.getOldPassword(), user.getPassword())) {
             throw new RuntimeException("Wrong password");
         }
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        // Calendar feed URLs are bearer credentials too, so a new password revokes them
+        user.setCalendarTokenVersion(user.getCalendarTokenVersion() + 1);
         userRepository.save(user);
+        principalCache.evict(user);
     }
 
     private UserResponse toUserResponse(User user) {
@@ -3,7 +3,12 @@ package com.uca.scheduleapp.service;
 import com.uca.scheduleapp.dto.CourseDTO;
 import com.uca.scheduleapp.model.Course;
 import com.uca.scheduleapp.repository.CourseRepository;
+import com.uca.scheduleapp.util.CacheRegistry;
+import com.uca.scheduleapp.util.ReadThroughCache;
+import com.uca.scheduleapp.util.TransactionHooks;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,10 +23,27 @@ public class CourseService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private CacheRegistry cacheRegistry;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Value("${reference-cache.ttl:300000}")
+    private long cacheTtl;
+
+    // The full course list is read on every login; one entry, invalidated on any write
+    private ReadThroughCache<String, List<CourseDTO>> courseCache;
+
+    @PostConstruct
+    void initCache() {
+        courseCache = cacheRegistry.createReadThrough("courses", 1, cacheTtl);
+    }
+
     public List<CourseDTO> getAllCourses() {
-        return courseRepository.findAll().stream()
+        return courseCache.get("all", () -> List.copyOf(courseRepository.findAll().stream()
                 .map(this::toDTO)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList())));
     }
 
     public CourseDTO getCourseById(Long id) {
@@ -36,8 +58,11 @@ public class CourseService {
         course.setName(request.getName());
         course.setYearLevel(Course.YearLevel.valueOf(request.getYearLevel()));
         Course saved = courseRepository.save(course);
+        courseCache.invalidateAllAfterCommit();
+        CourseDTO dto = toDTO(saved);
+        TransactionHooks.afterCommit(() -> searchService.upsertCourse(dto));
         notificationService.notifyAllUsers("COURSE_CREATED", "New course available: " + saved.getName());
-        return toDTO(saved);
+        return dto;
     }
 
     @Transactional
@@ -51,8 +76,11 @@ public class CourseService {
             course.setYearLevel(Course.YearLevel.valueOf(request.getYearLevel()));
         }
         Course saved = courseRepository.save(course);
+        courseCache.invalidateAllAfterCommit();
+        CourseDTO dto = toDTO(saved);
+        TransactionHooks.afterCommit(() -> searchService.upsertCourse(dto));
         notificationService.notifyAllUsers("COURSE_UPDATED", "Course updated: " + saved.getName());
-        return toDTO(saved);
+        return dto;
     }
 
     @Transactional
@@ -60,6 +88,8 @@ public class CourseService {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
         courseRepository.delete(course);
+        courseCache.invalidateAllAfterCommit();
+        TransactionHooks.afterCommit(() -> searchService.removeCourse(id));
     }
 
     private CourseDTO toDTO(Course course) {
@@ -4,35 +4,66 @@ import com.uca.scheduleapp.dto.GymScheduleDTO;
 import com.uca.scheduleapp.model.GymSchedule;
 import com.uca.scheduleapp.model.User;
 import com.uca.scheduleapp.repository.GymScheduleRepository;
+import com.uca.scheduleapp.util.CacheRegistry;
+import com.uca.scheduleapp.util.ReadThroughCache;
+import com.uca.scheduleapp.util.TransactionHooks;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 public class GymScheduleService {
+    private static final String ALL_GENDERS = "ALL";
+
     @Autowired
     private GymScheduleRepository gymScheduleRepository;
 
+    @Autowired
+    private WeeklySlotIndex slotIndex;
+
+    @Autowired
+    private CacheRegistry cacheRegistry;
+
+    @Value("${reference-cache.size:1000}")
+    private int cacheSize;
+
+    @Value("${reference-cache.ttl:300000}")
+    private long cacheTtl;
+
+    // Keyed by gender name, or ALL for the admin listing
+    private ReadThroughCache<String, List<GymScheduleDTO>> gymCache;
+
+    @PostConstruct
+    void initCache() {
+        gymCache = cacheRegistry.createReadThrough("gym-schedules", cacheSize, cacheTtl);
+    }
+
     public List<GymScheduleDTO> getAllGymSchedules(User user, String gender) {
-        List<GymSchedule> schedules;
+        GymSchedule.Gender filter;
         if (Boolean.TRUE.equals(user.getIsSuperuser())) {
-            if (gender != null) {
-                schedules = gymScheduleRepository.findByGender(GymSchedule.Gender.valueOf(gender));
-            } else {
-                schedules = gymScheduleRepository.findAll();
-            }
+            filter = gender != null ? GymSchedule.Gender.valueOf(gender) : null;
         } else {
-            if (user.getGender() != null) {
-                schedules = gymScheduleRepository.findByGender(
-                    GymSchedule.Gender.valueOf(user.getGender().name()));
-            } else {
-                schedules = List.of();
+            if (user.getGender() == null) {
+                return List.of();
             }
+            filter = GymSchedule.Gender.valueOf(user.getGender().name());
         }
-        return schedules.stream().map(this::toDTO).collect(Collectors.toList());
+        return gymCache.get(filter != null ? filter.name() : ALL_GENDERS, () -> {
+            List<GymSchedule> schedules = filter != null
+                    ? gymScheduleRepository.findByGender(filter)
+                    : gymScheduleRepository.findAll();
+            return List.copyOf(schedules.stream().map(this::toDTO).collect(Collectors.toList()));
+        });
+    }
+
+    public void evictAllGymSchedules() {
+        gymCache.invalidateAllAfterCommit();
     }
 
     public GymScheduleDTO getGymScheduleById(Long id, User user) {
@@ -67,9 +98,13 @@ public class GymScheduleService {
             throw new RuntimeException("Open time must be before close time");
         }
 
+        DayOfWeek day = request.getDay();
+        if (day == null) {
+            throw new RuntimeException("Day is required");
+        }
         List<GymSchedule> overlaps = gymScheduleRepository.findOverlappingSchedules(
             gender,
-            request.getDay(),
+            day,
             request.getOpenTime(),
             request.getCloseTime()
         );
@@ -80,11 +115,14 @@ public class GymScheduleService {
 
         GymSchedule schedule = new GymSchedule();
         schedule.setGender(gender);
-        schedule.setDay(request.getDay());
+        schedule.setDay(day);
         schedule.setOpenTime(request.getOpenTime());
         schedule.setCloseTime(request.getCloseTime());
         
-        return toDTO(gymScheduleRepository.save(schedule));
+        gymCache.invalidateAllAfterCommit();
+        GymScheduleDTO dto = toDTO(gymScheduleRepository.save(schedule));
+        TransactionHooks.afterCommit(() -> slotIndex.upsertGym(dto));
+        return dto;
     }
 
     @Transactional
@@ -114,7 +152,10 @@ public class GymScheduleService {
             schedule.setCloseTime(request.getCloseTime());
         }
         
-        return toDTO(gymScheduleRepository.save(schedule));
+        gymCache.invalidateAllAfterCommit();
+        GymScheduleDTO dto = toDTO(gymScheduleRepository.save(schedule));
+        TransactionHooks.afterCommit(() -> slotIndex.upsertGym(dto));
+        return dto;
     }
 
     @Transactional
@@ -127,6 +168,8 @@ public class GymScheduleService {
         }
         
         gymScheduleRepository.delete(schedule);
+        gymCache.invalidateAllAfterCommit();
+        TransactionHooks.afterCommit(() -> slotIndex.removeGym(id));
     }
 
     private GymScheduleDTO toDTO(GymSchedule schedule) {
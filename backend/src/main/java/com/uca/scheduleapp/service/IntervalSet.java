@@ -0,0 +1,135 @@
+package com.uca.scheduleapp.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * Half-open int intervals [start, end) tagged with a long id, kept in primitive arrays sorted
+ * by start. Inserts and removals shift the arrays. Queries binary-search a window bounded by
+ * the longest interval ever added, so they cost O(log n + k) when intervals are short
+ * compared with the range, which holds for lessons within a week.
+ * Not thread-safe; callers synchronize.
+ */
+public class IntervalSet {
+    @FunctionalInterface
+    public interface PairConsumer {
+        void accept(long first, long second);
+    }
+
+    @FunctionalInterface
+    public interface IntervalVisitor {
+        // Return false to stop the walk
+        boolean visit(long id, int start, int end);
+    }
+
+    private int[] starts = new int[8];
+    private int[] ends = new int[8];
+    private long[] ids = new long[8];
+    private int size;
+    private int maxLength;
+    private final Map<Long, Integer> startById = new HashMap<>();
+
+    public int size() {
+        return size;
+    }
+
+    public void add(long id, int start, int end) {
+        remove(id);
+        if (size == starts.length) {
+            int capacity = size * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+        }
+        int pos = lowerBound(start + 1);
+        System.arraycopy(starts, pos, starts, pos + 1, size - pos);
+        System.arraycopy(ends, pos, ends, pos + 1, size - pos);
+        System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+        starts[pos] = start;
+        ends[pos] = end;
+        ids[pos] = id;
+        size++;
+        maxLength = Math.max(maxLength, end - start);
+        startById.put(id, start);
+    }
+
+    public boolean remove(long id) {
+        Integer start = startById.remove(id);
+        if (start == null) {
+            return false;
+        }
+        int pos = lowerBound(start);
+        while (ids[pos] != id) {
+            pos++;
+        }
+        System.arraycopy(starts, pos + 1, starts, pos, size - pos - 1);
+        System.arraycopy(ends, pos + 1, ends, pos, size - pos - 1);
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * Calls action with the id of every interval overlapping [start, end).
+     */
+    public void forEachOverlapping(int start, int end, LongConsumer action) {
+        int to = lowerBound(end);
+        for (int i = lowerBound(start - maxLength + 1); i < to; i++) {
+            if (ends[i] > start) {
+                action.accept(ids[i]);
+            }
+        }
+    }
+
+    public boolean overlapsAny(int start, int end) {
+        int to = lowerBound(end);
+        for (int i = lowerBound(start - maxLength + 1); i < to; i++) {
+            if (ends[i] > start) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Visits intervals in start order beginning with the first one starting after the given point,
+     * then wraps around to the smallest start, so every interval is seen at most once.
+     */
+    public void forEachStartingAfter(int point, IntervalVisitor visitor) {
+        int first = lowerBound(point + 1);
+        for (int n = 0; n < size; n++) {
+            int i = (first + n) % size;
+            if (!visitor.visit(ids[i], starts[i], ends[i])) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sweep over all intervals, reporting each overlapping pair once, earlier start first.
+     */
+    public void forEachOverlappingPair(PairConsumer action) {
+        for (int i = 0; i < size; i++) {
+            for (int j = i + 1; j < size && starts[j] < ends[i]; j++) {
+                action.accept(ids[i], ids[j]);
+            }
+        }
+    }
+
+    // First index whose start is >= value
+    private int lowerBound(int value) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[mid] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,39 @@
+package com.uca.scheduleapp.service;
+
+/**
+ * Load-on-first-use state for the in-memory indexes. Callers hold the index's own lock around
+ * every method. The index only counts as loaded once the loader has returned; if it throws, the
+ * partially filled index is reset so the next call loads it again from scratch.
+ */
+final class LazyLoad {
+    private enum State { EMPTY, LOADING, LOADED }
+
+    private State state = State.EMPTY;
+
+    /**
+     * Whether incremental updates should be applied. True while the loader runs, because loaders
+     * fill the index through the same upsert methods.
+     */
+    boolean isActive() {
+        return state != State.EMPTY;
+    }
+
+    void ensureLoaded(Runnable loader, Runnable reset) {
+        if (state != State.EMPTY) {
+            return;
+        }
+        state = State.LOADING;
+        try {
+            loader.run();
+            state = State.LOADED;
+        } catch (RuntimeException | Error e) {
+            reset.run();
+            state = State.EMPTY;
+            throw e;
+        }
+    }
+
+    void reset() {
+        state = State.EMPTY;
+    }
+}
@@ -6,38 +6,86 @@ import com.uca.scheduleapp.model.Meal;
 import com.uca.scheduleapp.model.StudentClass;
 import com.uca.scheduleapp.model.User;
 import com.uca.scheduleapp.repository.MealRepository;
+import com.uca.scheduleapp.repository.MealRepositoryCustom;
 import com.uca.scheduleapp.repository.StudentClassRepository;
+import com.uca.scheduleapp.util.CacheRegistry;
+import com.uca.scheduleapp.util.ReadThroughCache;
+import com.uca.scheduleapp.util.TransactionHooks;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class MealService {
+    // Cache key for the admin listing across all classes
+    private static final long ALL_CLASSES = 0L;
+
     @Autowired
     private MealRepository mealRepository;
 
     @Autowired
     private StudentClassRepository studentClassRepository;
 
+    @Autowired
+    private WeeklySlotIndex slotIndex;
+
+    @Autowired
+    private CacheRegistry cacheRegistry;
+
+    @Autowired
+    private AdminListings adminListings;
+
+    @Value("${reference-cache.size:1000}")
+    private int cacheSize;
+
+    @Value("${reference-cache.ttl:300000}")
+    private long cacheTtl;
+
+    // Keyed by student class id, or ALL_CLASSES
+    private ReadThroughCache<Long, List<MealDTO>> mealCache;
+
+    @PostConstruct
+    void initCache() {
+        mealCache = cacheRegistry.createReadThrough("meals", cacheSize, cacheTtl);
+    }
+
     public List<MealDTO> getAllMeals(User user, Long studentClassId) {
-        List<Meal> meals;
+        Long classId;
         if (Boolean.TRUE.equals(user.getIsSuperuser())) {
-            if (studentClassId != null) {
-                meals = mealRepository.findByStudentClassId(studentClassId);
-            } else {
-                meals = mealRepository.findAll();
-            }
+            classId = studentClassId;
         } else {
-            if (user.getStudentClass() != null) {
-                meals = mealRepository.findByStudentClass(user.getStudentClass());
-            } else {
-                meals = List.of();
+            if (user.getStudentClass() == null) {
+                return List.of();
             }
+            classId = user.getStudentClass().getId();
         }
-        return meals.stream().map(this::toDTO).collect(Collectors.toList());
+        return mealCache.get(classId != null ? classId : ALL_CLASSES, () -> List.copyOf(
+                mealRepository.findListing(new MealRepositoryCustom.Listing(classId, null, null, null, false))));
+    }
+
+    public AdminListings.Page<MealDTO> listMeals(MealRepositoryCustom.Listing listing, String cursor, Integer limit) {
+        int size = adminListings.pageSize(limit);
+        List<MealDTO> rows = mealRepository.findListingPage(listing, adminListings.decode(cursor), size + 1);
+        return adminListings.page(rows, size, null, MealDTO::getId);
+    }
+
+    public void exportMeals(MealRepositoryCustom.Listing listing, OutputStream out) throws IOException {
+        adminListings.writeNdjson(() -> mealRepository.streamListing(listing), out);
+    }
+
+    public void evictAllMeals() {
+        mealCache.invalidateAllAfterCommit();
     }
 
     public MealDTO getMealById(Long id, User user) {
@@ -54,30 +102,32 @@ public class MealService {
 
     @Transactional
     public MealDTO createMeal(MealRequest request, User user) {
+        mealCache.invalidateAllAfterCommit();
         if (Boolean.TRUE.equals(user.getIsSuperuser())) {
             if (request.getStudentClassIds() == null || request.getStudentClassIds().isEmpty()) {
                 throw new RuntimeException("Admin must specify at least one Student Class ID");
             }
             
-            Meal firstMeal = null;
-            for (Long classId : request.getStudentClassIds()) {
-                StudentClass studentClass = studentClassRepository.findById(classId)
-                        .orElseThrow(() -> new RuntimeException("Student class with ID " + classId + " does not exist"));
-                
-                Meal meal = new Meal();
-                meal.setStudentClass(studentClass);
-                meal.setType(Meal.MealType.valueOf(request.getType()));
-                meal.setTimeStart(request.getTimeStart());
-                meal.setTimeEnd(request.getTimeEnd());
-                meal.setMenu(request.getMenu());
-                
-                if (firstMeal == null) {
-                    firstMeal = mealRepository.save(meal);
-                } else {
-                    mealRepository.save(meal);
+            Meal.MealType type = Meal.MealType.valueOf(request.getType());
+            if (request.getTimeStart() == null || request.getTimeEnd() == null) {
+                throw new RuntimeException("Meal start and end times are required");
+            }
+
+            // One lookup for all classes and one batched insert instead of a round trip per class
+            Map<Long, StudentClass> classes = studentClassRepository.findAllById(request.getStudentClassIds()).stream()
+                    .collect(Collectors.toMap(StudentClass::getId, Function.identity()));
+            List<MealDTO> rows = new ArrayList<>();
+            for (Long classId : new LinkedHashSet<>(request.getStudentClassIds())) {
+                StudentClass studentClass = classes.get(classId);
+                if (studentClass == null) {
+                    throw new RuntimeException("Student class with ID " + classId + " does not exist");
                 }
+                rows.add(new MealDTO(null, type.name(), request.getTimeStart(), request.getTimeEnd(),
+                        request.getMenu(), classId, studentClass.getName()));
             }
-            return toDTO(firstMeal);
+            mealRepository.insertMeals(rows);
+            rows.forEach(this::indexAfterCommit);
+            return rows.get(0);
         } else {
             if (user.getStudentClass() == null) {
                 throw new RuntimeException("You must have a class assigned to add meals");
@@ -88,7 +138,9 @@ public class MealService {
             meal.setTimeStart(request.getTimeStart());
             meal.setTimeEnd(request.getTimeEnd());
             meal.setMenu(request.getMenu());
-            return toDTO(mealRepository.save(meal));
+            Meal saved = mealRepository.save(meal);
+            indexAfterCommit(saved);
+            return toDTO(saved);
         }
     }
 
@@ -114,7 +166,10 @@ public class MealService {
             meal.setMenu(request.getMenu());
         }
         
-        return toDTO(mealRepository.save(meal));
+        mealCache.invalidateAllAfterCommit();
+        Meal saved = mealRepository.save(meal);
+        indexAfterCommit(saved);
+        return toDTO(saved);
     }
 
     @Transactional
@@ -127,6 +182,16 @@ public class MealService {
         }
         
         mealRepository.delete(meal);
+        mealCache.invalidateAllAfterCommit();
+        TransactionHooks.afterCommit(() -> slotIndex.removeMeal(id));
+    }
+
+    private void indexAfterCommit(Meal meal) {
+        indexAfterCommit(toDTO(meal));
+    }
+
+    private void indexAfterCommit(MealDTO dto) {
+        TransactionHooks.afterCommit(() -> slotIndex.upsertMeal(dto));
     }
 
     private MealDTO toDTO(Meal meal) {
@@ -0,0 +1,248 @@
+package com.uca.scheduleapp.service;
+
+import com.uca.scheduleapp.dto.NotificationDTO;
+import com.uca.scheduleapp.model.BroadcastNotification;
+import com.uca.scheduleapp.model.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Pushes notifications to users connected over Server-Sent Events.
+ *
+ * Events: "unread_count" {count} on connect and whenever events for the connection were dropped,
+ * "notification" {notification} for each new notification (the client adds one to its count),
+ * "unread_delta" {delta} when notifications are read or dismissed on any connection.
+ *
+ * Connections are held by the servlet container's async support, so an idle connection costs no
+ * thread. Each connection has its own bounded queue, drained by a small sender pool one connection
+ * at a time, so a slow client only holds up its own events. When a queue overflows its pending
+ * events are replaced by a fresh unread count.
+ */
+@Component
+public class NotificationHub {
+    private static final Logger log = LoggerFactory.getLogger(NotificationHub.class);
+
+    private static final class Subscriber {
+        final Long userId;
+        final SseEmitter emitter;
+        final Long studentClassId;
+        final User.Gender gender;
+        final LongSupplier unreadCount;
+        // Builders are single-use, so events are queued as factories
+        final BlockingQueue<Supplier<SseEmitter.SseEventBuilder>> queue;
+        // Set while a drain task is queued or running, so each connection has at most one
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean overflowed;
+        volatile boolean closed;
+
+        Subscriber(Long userId, SseEmitter emitter, Long studentClassId, User.Gender gender,
+                   LongSupplier unreadCount, int capacity) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.studentClassId = studentClassId;
+            this.gender = gender;
+            this.unreadCount = unreadCount;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    @Value("${notifications.sse.timeout:1800000}")
+    private long timeoutMillis;
+
+    @Value("${notifications.sse.heartbeat:25000}")
+    private long heartbeatMillis;
+
+    @Value("${notifications.sse.queue:100}")
+    private int queueCapacity;
+
+    @Value("${notifications.sse.senders:4}")
+    private int senderThreads;
+
+    private final ConcurrentHashMap<Long, CopyOnWriteArrayList<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    // Unbounded, but holds at most one drain task per connection
+    private ThreadPoolExecutor senders;
+    // Heartbeats and broadcast matching; sends happen on the sender pool
+    private ScheduledExecutorService dispatcher;
+
+    @PostConstruct
+    void start() {
+        senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), daemon("notify-push"));
+        dispatcher = Executors.newSingleThreadScheduledExecutor(daemon("notify-dispatch"));
+        dispatcher.scheduleWithFixedDelay(this::sendHeartbeats, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        subscribers.values().forEach(list -> list.forEach(s -> s.emitter.complete()));
+    }
+
+    /**
+     * Registers a connection. unreadCount is read on connect and again whenever events for this
+     * connection had to be dropped.
+     */
+    public SseEmitter subscribe(Long userId, Long studentClassId, User.Gender gender, LongSupplier unreadCount) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, emitter, studentClassId, gender, unreadCount, queueCapacity);
+        subscribers.computeIfAbsent(userId, id -> new CopyOnWriteArrayList<>()).add(subscriber);
+        Runnable remove = () -> unsubscribe(subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        // The first drain sends the count before anything else
+        subscriber.overflowed = true;
+        schedule(subscriber);
+        return emitter;
+    }
+
+    public int connectionCount() {
+        return subscribers.values().stream().mapToInt(List::size).sum();
+    }
+
+    public void sendNotification(Long userId, NotificationDTO dto) {
+        sendToUser(userId, () -> SseEmitter.event().name("notification").data(dto));
+    }
+
+    public void sendUnreadDelta(Long userId, long delta) {
+        sendToUser(userId, () -> SseEmitter.event().name("unread_delta").data(Map.of("delta", delta)));
+    }
+
+    public void broadcast(BroadcastNotification b, NotificationDTO dto) {
+        // Matching every connection runs off the caller's thread
+        Supplier<SseEmitter.SseEventBuilder> event = () -> SseEmitter.event().name("notification").data(dto);
+        dispatcher.execute(() -> subscribers.forEach((userId, list) -> {
+            for (Subscriber s : list) {
+                if (UnreadCounters.isAudience(b, userId, s.studentClassId, s.gender)) {
+                    enqueue(s, event);
+                }
+            }
+        }));
+    }
+
+    private void sendToUser(Long userId, Supplier<SseEmitter.SseEventBuilder> event) {
+        List<Subscriber> list = subscribers.get(userId);
+        if (list == null) {
+            return;
+        }
+        for (Subscriber s : list) {
+            enqueue(s, event);
+        }
+    }
+
+    private void sendHeartbeats() {
+        Supplier<SseEmitter.SseEventBuilder> ping = () -> SseEmitter.event().comment("ping");
+        subscribers.forEach((userId, list) -> {
+            for (Subscriber s : list) {
+                // A full queue already has traffic to keep the connection alive
+                if (s.queue.offer(ping)) {
+                    schedule(s);
+                }
+            }
+        });
+    }
+
+    private void enqueue(Subscriber subscriber, Supplier<SseEmitter.SseEventBuilder> event) {
+        if (!subscriber.queue.offer(event)) {
+            subscriber.overflowed = true;
+        }
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.closed && subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            if (!drainOnce(subscriber)) {
+                return;
+            }
+            subscriber.draining.set(false);
+            // An event queued after the last poll but before the flag cleared would otherwise wait
+            if ((subscriber.queue.isEmpty() && !subscriber.overflowed) || !subscriber.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    // Returns false once the connection is gone
+    private boolean drainOnce(Subscriber subscriber) {
+        SseEmitter.SseEventBuilder event;
+        while (!subscriber.closed) {
+            if (subscriber.overflowed) {
+                // Whatever is still queued predates the count, so the client can drop it too
+                subscriber.overflowed = false;
+                subscriber.queue.clear();
+                event = unreadCountEvent(subscriber);
+            } else {
+                Supplier<SseEmitter.SseEventBuilder> next = subscriber.queue.poll();
+                if (next == null) {
+                    return true;
+                }
+                event = next.get();
+            }
+            if (event != null && !send(subscriber, event)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private SseEmitter.SseEventBuilder unreadCountEvent(Subscriber subscriber) {
+        try {
+            return SseEmitter.event().name("unread_count").data(Map.of("count", subscriber.unreadCount.getAsLong()));
+        } catch (Exception e) {
+            log.warn("Could not load unread count for user {}: {}", subscriber.userId, e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the container reports completion, but stop sending right now
+            unsubscribe(subscriber);
+            return false;
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscriber.queue.clear();
+        subscribers.computeIfPresent(subscriber.userId, (id, list) -> {
+            list.remove(subscriber);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
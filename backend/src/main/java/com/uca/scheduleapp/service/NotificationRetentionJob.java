@@ -0,0 +1,223 @@
+package com.uca.scheduleapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uca.scheduleapp.model.BroadcastNotification;
+import com.uca.scheduleapp.model.Notification;
+import com.uca.scheduleapp.repository.BroadcastNotificationRepository;
+import com.uca.scheduleapp.repository.BroadcastReceiptRepository;
+import com.uca.scheduleapp.repository.NotificationRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Nightly cleanup of notification tables:
+ * - repeated COURSE_UPDATED / CLASS_UPDATED messages are collapsed to the newest one,
+ * - read direct notifications older than read-age-days are deleted,
+ * - broadcasts older than broadcast-age-days are deleted with their receipts.
+ * Each chunk is deleted in its own short transaction. When archive-dir is set, rows are appended
+ * to a gzipped NDJSON file before they are deleted.
+ */
+@Component
+public class NotificationRetentionJob {
+    private static final Logger log = LoggerFactory.getLogger(NotificationRetentionJob.class);
+    private static final List<String> COLLAPSIBLE_TYPES = List.of("COURSE_UPDATED", "CLASS_UPDATED");
+    private static final DateTimeFormatter FILE_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private BroadcastNotificationRepository broadcastRepository;
+
+    @Autowired
+    private BroadcastReceiptRepository receiptRepository;
+
+    @Autowired
+    private UnreadCounters unreadCounters;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${notifications.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${notifications.retention.read-age-days:90}")
+    private int readAgeDays;
+
+    @Value("${notifications.retention.broadcast-age-days:180}")
+    private int broadcastAgeDays;
+
+    @Value("${notifications.retention.chunk-size:1000}")
+    private int chunkSize;
+
+    // Empty disables archiving
+    @Value("${notifications.retention.archive-dir:}")
+    private String archiveDir;
+
+    private TransactionTemplate tx;
+
+    @PostConstruct
+    void init() {
+        tx = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${notifications.retention.cron:0 30 3 * * *}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        try (Archive archive = Archive.open(archiveDir, now)) {
+            int collapsed = purge((afterId, page) -> notificationRepository.findSupersededIds(COLLAPSIBLE_TYPES, afterId, page),
+                    ids -> deleteDirect(ids, archive));
+            collapsed += purge((afterId, page) -> broadcastRepository.findSupersededIds(COLLAPSIBLE_TYPES, afterId, page),
+                    ids -> deleteBroadcasts(ids, archive));
+
+            LocalDateTime readCutoff = now.minusDays(readAgeDays);
+            int read = purge((afterId, page) -> notificationRepository.findReadIdsBefore(readCutoff, afterId, page),
+                    ids -> deleteDirect(ids, archive));
+
+            LocalDateTime broadcastCutoff = now.minusDays(broadcastAgeDays);
+            int broadcasts = purge((afterId, page) -> broadcastRepository.findIdsBefore(broadcastCutoff, afterId, page),
+                    ids -> deleteBroadcasts(ids, archive));
+
+            log.info("Notification retention: collapsed={} read={} broadcasts={}", collapsed, read, broadcasts);
+        } catch (Exception e) {
+            log.error("Notification retention failed", e);
+        } finally {
+            // Collapsed duplicates may have been unread
+            unreadCounters.evictAll();
+        }
+    }
+
+    /**
+     * Deletes chunk by chunk in ascending id order. Each query resumes after the last id of the
+     * previous chunk, so rows that were examined and kept are not scanned again.
+     */
+    private int purge(BiFunction<Long, Pageable, List<Long>> nextChunk, Function<List<Long>, Integer> deleteChunk) {
+        int total = 0;
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            List<Long> ids = tx.execute(s -> nextChunk.apply(from, PageRequest.of(0, chunkSize)));
+            if (ids == null || ids.isEmpty()) {
+                return total;
+            }
+            Integer deleted = tx.execute(s -> deleteChunk.apply(ids));
+            total += deleted != null ? deleted : 0;
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+
+    private int deleteDirect(List<Long> ids, Archive archive) {
+        if (archive != null) {
+            for (Notification n : notificationRepository.findAllById(ids)) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("kind", "direct");
+                row.put("id", n.getId());
+                row.put("user_id", n.getUser().getId());
+                row.put("type", n.getType());
+                row.put("message", n.getMessage());
+                row.put("is_read", n.getIsRead());
+                row.put("created_at", String.valueOf(n.getCreatedAt()));
+                archive.write(objectMapper, row);
+            }
+            archive.flush();
+        }
+        return notificationRepository.deleteByIds(ids);
+    }
+
+    private int deleteBroadcasts(List<Long> ids, Archive archive) {
+        if (archive != null) {
+            for (BroadcastNotification b : broadcastRepository.findAllById(ids)) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("kind", "broadcast");
+                row.put("id", b.getId());
+                row.put("target", b.getTarget());
+                row.put("student_class_id", b.getStudentClassId());
+                row.put("gender", b.getGender());
+                row.put("type", b.getType());
+                row.put("message", b.getMessage());
+                row.put("created_at", String.valueOf(b.getCreatedAt()));
+                archive.write(objectMapper, row);
+            }
+            archive.flush();
+        }
+        receiptRepository.deleteByBroadcastIds(ids);
+        return broadcastRepository.deleteByIds(ids);
+    }
+
+    /**
+     * One gzipped NDJSON file per run. Each chunk is flushed before its rows are deleted.
+     */
+    private static final class Archive implements Closeable {
+        private final Writer writer;
+
+        private Archive(Writer writer) {
+            this.writer = writer;
+        }
+
+        static Archive open(String dir, LocalDateTime now) throws IOException {
+            if (dir == null || dir.isBlank()) {
+                return null;
+            }
+            Path directory = Path.of(dir);
+            Files.createDirectories(directory);
+            Path file = directory.resolve("notifications-" + FILE_STAMP.format(now) + ".ndjson.gz");
+            return new Archive(new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(file), true), StandardCharsets.UTF_8)));
+        }
+
+        void write(ObjectMapper mapper, Map<String, Object> row) {
+            try {
+                writer.write(mapper.writeValueAsString(row));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void flush() {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
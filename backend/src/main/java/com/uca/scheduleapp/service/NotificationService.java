@@ -1,35 +1,120 @@
 package com.uca.scheduleapp.service;
 
 import com.uca.scheduleapp.dto.NotificationDTO;
+import com.uca.scheduleapp.model.BroadcastNotification;
+import com.uca.scheduleapp.model.BroadcastReceipt;
 import com.uca.scheduleapp.model.Notification;
 import com.uca.scheduleapp.model.User;
+import com.uca.scheduleapp.repository.BroadcastNotificationRepository;
+import com.uca.scheduleapp.repository.BroadcastReceiptRepository;
 import com.uca.scheduleapp.repository.NotificationRepository;
 import com.uca.scheduleapp.repository.UserRepository;
+import com.uca.scheduleapp.util.TransactionHooks;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Consumer;
 
+/**
+ * Direct notifications are one row per user. Class-wide and app-wide notifications are stored
+ * once as a BroadcastNotification and merged in on read; broadcast ids are exposed negated.
+ * Unread counts are served from UnreadCounters and changes are pushed through NotificationHub,
+ * both after the change commits.
+ */
 @Service
 public class NotificationService {
+    private static final Comparator<NotificationDTO> NEWEST_FIRST = Comparator
+            .comparing(NotificationDTO::getCreatedAt).reversed()
+            .thenComparing(NotificationDTO::getId, Comparator.reverseOrder());
+
+    // Position in the merged feed; the first page starts before anything that can be stored
+    private record Cursor(LocalDateTime createdAt, long id) {
+    }
+
+    private static final Cursor FIRST_PAGE = new Cursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    /**
+     * One page of the feed, newest first. nextCursor is null on the last page.
+     */
+    public record Page(List<NotificationDTO> items, String nextCursor) {
+    }
+
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private BroadcastNotificationRepository broadcastRepository;
+
+    @Autowired
+    private BroadcastReceiptRepository receiptRepository;
+
     @Autowired
     private UserRepository userRepository;
 
-    public List<NotificationDTO> getMyNotifications(User user) {
-        return notificationRepository.findByUserOrderByCreatedAtDesc(user)
-                .stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+    @Autowired
+    private UnreadCounters unreadCounters;
+
+    @Autowired
+    private NotificationHub notificationHub;
+
+    @Value("${notifications.page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${notifications.max-page-size:200}")
+    private int maxPageSize;
+
+    /**
+     * Keyset page over the user's direct notifications and visible broadcasts. Each source reads at
+     * most limit + 1 rows from its index, so cost does not depend on how much history there is.
+     */
+    public Page getMyNotifications(User user, String cursor, Integer limit) {
+        int size = limit == null || limit <= 0 ? defaultPageSize : Math.min(limit, maxPageSize);
+        Cursor after = cursor == null || cursor.isBlank() ? FIRST_PAGE : decodeCursor(cursor);
+        PageRequest fetch = PageRequest.of(0, size + 1);
+
+        List<NotificationDTO> merged = new ArrayList<>();
+        for (Notification n : notificationRepository.findPageBefore(user.getId(), after.createdAt(), after.id(), fetch)) {
+            merged.add(toDTO(n));
+        }
+        merged.addAll(broadcastRepository.findVisiblePageBefore(user.getId(), after.createdAt(), after.id(), fetch));
+        merged.sort(NEWEST_FIRST);
+
+        if (merged.size() <= size) {
+            return new Page(merged, null);
+        }
+        List<NotificationDTO> items = new ArrayList<>(merged.subList(0, size));
+        return new Page(items, encodeCursor(items.get(size - 1)));
     }
 
     public long getUnreadCount(User user) {
-        return notificationRepository.countByUserAndIsReadFalse(user);
+        return unreadCounters.get(user.getId(), () -> loadUnreadSeed(user.getId()));
+    }
+
+    /**
+     * Opens a Server-Sent Events stream for the user, starting with their unread count.
+     */
+    public SseEmitter openStream(User user) {
+        Long userId = user.getId();
+        UnreadCounters.Seed seed = loadUnreadSeed(userId);
+        unreadCounters.get(userId, () -> seed);
+        return notificationHub.subscribe(userId, seed.studentClassId(), seed.gender(),
+                () -> unreadCounters.get(userId, () -> loadUnreadSeed(userId)));
+    }
+
+    public void evictUnreadCount(Long userId) {
+        TransactionHooks.afterCommit(() -> unreadCounters.evict(userId));
     }
 
     @Transactional
@@ -37,37 +122,101 @@ public class NotificationService {
         if (notificationId == null) {
             throw new RuntimeException("Notification id is required");
         }
-        Notification n = notificationRepository.findById(notificationId)
-                .orElseThrow(() -> new RuntimeException("Notification not found"));
-        if (!n.getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("Access denied");
+        boolean wasUnread;
+        if (notificationId < 0) {
+            wasUnread = updateReceipt(user, -notificationId, r -> r.setIsRead(true));
+        } else {
+            Notification n = findOwned(user, notificationId);
+            wasUnread = !Boolean.TRUE.equals(n.getIsRead());
+            n.setIsRead(true);
+            notificationRepository.save(n);
+        }
+        if (wasUnread) {
+            unreadChanged(user.getId(), -1);
         }
-        n.setIsRead(true);
-        notificationRepository.save(n);
     }
 
     @Transactional
-    public void markAllRead(User user) {
-        List<Notification> notes = notificationRepository.findByUserOrderByCreatedAtDesc(user);
-        for (Notification n : notes) {
-            if (!Boolean.TRUE.equals(n.getIsRead())) {
-                n.setIsRead(true);
-                notificationRepository.save(n);
+    public void dismiss(User user, Long notificationId) {
+        if (notificationId == null) {
+            throw new RuntimeException("Notification id is required");
+        }
+        boolean wasUnread;
+        if (notificationId < 0) {
+            wasUnread = updateReceipt(user, -notificationId, r -> {
+                r.setIsRead(true);
+                r.setDismissed(true);
+            });
+        } else {
+            Notification n = findOwned(user, notificationId);
+            wasUnread = !Boolean.TRUE.equals(n.getIsRead());
+            notificationRepository.delete(n);
+        }
+        if (wasUnread) {
+            unreadChanged(user.getId(), -1);
+        }
+    }
+
+    /**
+     * Marks everything read with one UPDATE for direct rows and an INSERT IGNORE of receipts for
+     * broadcasts. Returns how many notifications changed; rows a concurrent call already marked
+     * are not counted twice.
+     */
+    @Transactional
+    public int markAllRead(User user) {
+        int changed = notificationRepository.markAllRead(user.getId());
+        changed += receiptRepository.insertReadReceipts(user.getId(),
+                broadcastRepository.findUnreadIds(user.getId()), LocalDateTime.now());
+        if (changed > 0) {
+            unreadChanged(user.getId(), -changed);
+        }
+        return changed;
+    }
+
+    /**
+     * Bulk variant of markRead. Ids that are unknown, not the user's or already read are skipped.
+     * Returns how many notifications changed.
+     */
+    @Transactional
+    public int markRead(User user, List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new RuntimeException("Notification ids are required");
+        }
+        Set<Long> direct = new HashSet<>();
+        Set<Long> broadcasts = new HashSet<>();
+        for (Long id : ids) {
+            if (id != null) {
+                (id < 0 ? broadcasts : direct).add(Math.abs(id));
             }
         }
+        int changed = direct.isEmpty() ? 0 : notificationRepository.markRead(user.getId(), direct);
+        if (!broadcasts.isEmpty()) {
+            changed += receiptRepository.insertReadReceipts(user.getId(),
+                    broadcastRepository.findUnreadIdsIn(user.getId(), broadcasts), LocalDateTime.now());
+        }
+        if (changed > 0) {
+            unreadChanged(user.getId(), -changed);
+        }
+        return changed;
     }
 
     @Transactional
     public void notifyStudentClass(User actor, Long studentClassId, String type, String message) {
         if (studentClassId == null)
             return;
-        List<User> users = userRepository.findByStudentClassId(studentClassId);
-        for (User u : users) {
-            if (actor != null && u.getId().equals(actor.getId())) {
-                continue;
-            }
-            createNotification(u, type, message);
-        }
+        BroadcastNotification b = newBroadcast(BroadcastNotification.Target.STUDENT_CLASS, type, message);
+        b.setStudentClassId(studentClassId);
+        b.setExcludeUserId(actor != null ? actor.getId() : null);
+        saveBroadcast(b);
+    }
+
+    @Transactional
+    public void notifyGender(User.Gender gender, String type, String message) {
+        if (gender == null)
+            return;
+        BroadcastNotification b = newBroadcast(BroadcastNotification.Target.GENDER, type, message);
+        b.setGender(gender);
+        saveBroadcast(b);
     }
 
     @Transactional
@@ -77,15 +226,93 @@ public class NotificationService {
 
     @Transactional
     public void notifyAllUsers(String type, String message) {
-        List<User> users = userRepository.findAll();
-        for (User u : users) {
-            createNotification(u, type, message);
-        }
+        saveBroadcast(newBroadcast(BroadcastNotification.Target.ALL, type, message));
     }
 
     @Transactional
     public void deleteUserNotifications(User user) {
         notificationRepository.deleteByUser(user);
+        receiptRepository.deleteByUser(user);
+        evictUnreadCount(user.getId());
+    }
+
+    private Notification findOwned(User user, Long notificationId) {
+        Notification n = notificationRepository.findById(notificationId)
+                .orElseThrow(() -> new RuntimeException("Notification not found"));
+        if (!n.getUser().getId().equals(user.getId())) {
+            throw new RuntimeException("Access denied");
+        }
+        return n;
+    }
+
+    /**
+     * Creates or updates the user's receipt for a broadcast. Returns whether it was unread before.
+     */
+    private boolean updateReceipt(User user, Long broadcastId, Consumer<BroadcastReceipt> change) {
+        BroadcastReceipt receipt = receiptRepository.findByBroadcastIdAndUserId(broadcastId, user.getId())
+                .orElse(null);
+        if (receipt == null) {
+            if (broadcastRepository.countVisible(user.getId(), broadcastId) == 0) {
+                throw new RuntimeException("Notification not found");
+            }
+            receipt = new BroadcastReceipt();
+            receipt.setBroadcast(broadcastRepository.getReferenceById(broadcastId));
+            receipt.setUser(userRepository.getReferenceById(user.getId()));
+        }
+        boolean wasUnread = !Boolean.TRUE.equals(receipt.getIsRead());
+        change.accept(receipt);
+        receipt.setUpdatedAt(LocalDateTime.now());
+        receiptRepository.save(receipt);
+        return wasUnread;
+    }
+
+    private static String encodeCursor(NotificationDTO last) {
+        String raw = last.getCreatedAt() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    private UnreadCounters.Seed loadUnreadSeed(Long userId) {
+        User fresh = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        long unread = notificationRepository.countByUserAndIsReadFalse(fresh)
+                + broadcastRepository.countUnread(userId);
+        Long studentClassId = fresh.getStudentClass() != null ? fresh.getStudentClass().getId() : null;
+        return new UnreadCounters.Seed(unread, studentClassId, fresh.getGender());
+    }
+
+    private void unreadChanged(Long userId, long delta) {
+        TransactionHooks.afterCommit(() -> {
+            unreadCounters.adjust(userId, delta);
+            notificationHub.sendUnreadDelta(userId, delta);
+        });
+    }
+
+    private void saveBroadcast(BroadcastNotification b) {
+        BroadcastNotification saved = broadcastRepository.save(b);
+        NotificationDTO dto = new NotificationDTO(-saved.getId(), saved.getType(), saved.getMessage(), false, saved.getCreatedAt());
+        TransactionHooks.afterCommit(() -> {
+            unreadCounters.applyBroadcast(saved);
+            notificationHub.broadcast(saved, dto);
+        });
+    }
+
+    private BroadcastNotification newBroadcast(BroadcastNotification.Target target, String type, String message) {
+        BroadcastNotification b = new BroadcastNotification();
+        b.setTarget(target);
+        b.setType(type);
+        b.setMessage(message);
+        b.setCreatedAt(LocalDateTime.now());
+        return b;
     }
 
     private void createNotification(User user, String type, String message) {
@@ -95,7 +322,13 @@ public class NotificationService {
         n.setMessage(message);
         n.setIsRead(false);
         n.setCreatedAt(LocalDateTime.now());
-        notificationRepository.save(n);
+        Notification saved = notificationRepository.save(n);
+        Long userId = user.getId();
+        NotificationDTO dto = toDTO(saved);
+        TransactionHooks.afterCommit(() -> {
+            unreadCounters.adjust(userId, 1);
+            notificationHub.sendNotification(userId, dto);
+        });
     }
 
     private NotificationDTO toDTO(Notification n) {
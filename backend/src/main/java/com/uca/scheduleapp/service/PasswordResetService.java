@@ -2,6 +2,7 @@ package com.uca.scheduleapp.service;
 
 import com.uca.scheduleapp.model.User;
 import com.uca.scheduleapp.repository.UserRepository;
+import com.uca.scheduleapp.security.UserPrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
@@ -22,6 +23,9 @@ public class PasswordResetService {
     @Autowired
     private JavaMailSender mailSender;
 
+    @Autowired
+    private UserPrincipalCache principalCache;
+
     public void processForgotPassword(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -54,6 +58,9 @@ public class PasswordResetService {
         user.setPassword(passwordEncoder.encode(newPassword));
         user.setResetToken(null);
         user.setResetTokenExpiry(null);
+        // Calendar feed URLs are bearer credentials too, so a reset revokes them
+        user.setCalendarTokenVersion(user.getCalendarTokenVersion() + 1);
         userRepository.save(user);
+        principalCache.evict(user);
     }
 }
@@ -0,0 +1,154 @@
+package com.uca.scheduleapp.service;
+
+import com.uca.scheduleapp.dto.TimetableConflictDTO;
+import com.uca.scheduleapp.dto.UniversityScheduleDTO;
+import com.uca.scheduleapp.repository.UniversityScheduleRepository;
+import com.uca.scheduleapp.util.WeekTime;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Overlap detection over university schedules encoded as minute-of-week intervals.
+ * Keeps live indexes by student class and by location for admin-wide checks, loaded on first use
+ * and updated incrementally by UniversityScheduleService. Entries without a day or times are
+ * not placed on the week and never conflict.
+ */
+@Service
+public class ScheduleConflictEngine {
+    @Autowired
+    private UniversityScheduleRepository universityScheduleRepository;
+
+    private final Map<Long, UniversityScheduleDTO> schedules = new HashMap<>();
+    private final Map<Long, IntervalSet> byStudentClass = new HashMap<>();
+    private final Map<String, IntervalSet> byLocation = new HashMap<>();
+    private final LazyLoad lazyLoad = new LazyLoad();
+
+    /**
+     * Conflicts within one user's selection, without touching the shared indexes.
+     */
+    public List<TimetableConflictDTO> detect(List<UniversityScheduleDTO> selection) {
+        Map<Long, UniversityScheduleDTO> byId = new HashMap<>();
+        IntervalSet set = new IntervalSet();
+        for (UniversityScheduleDTO s : selection) {
+            if (add(set, s)) {
+                byId.put(s.getId(), s);
+            }
+        }
+        List<TimetableConflictDTO> conflicts = new ArrayList<>();
+        set.forEachOverlappingPair((a, b) -> conflicts.add(conflict(byId.get(a), byId.get(b),
+                "Overlapping classes: " + byId.get(a).getCourseName() + " and " + byId.get(b).getCourseName())));
+        return conflicts;
+    }
+
+    public synchronized List<TimetableConflictDTO> conflictsForStudentClass(Long studentClassId) {
+        ensureLoaded();
+        List<TimetableConflictDTO> conflicts = new ArrayList<>();
+        collectClassConflicts(byStudentClass.get(studentClassId), conflicts);
+        return conflicts;
+    }
+
+    public synchronized List<TimetableConflictDTO> conflictsForLocation(String location) {
+        ensureLoaded();
+        List<TimetableConflictDTO> conflicts = new ArrayList<>();
+        collectLocationConflicts(byLocation.get(normalizeLocation(location)), conflicts);
+        return conflicts;
+    }
+
+    /**
+     * Every class overlap and every double-booked room across all schedules.
+     */
+    public synchronized List<TimetableConflictDTO> allConflicts() {
+        ensureLoaded();
+        List<TimetableConflictDTO> conflicts = new ArrayList<>();
+        byStudentClass.values().forEach(set -> collectClassConflicts(set, conflicts));
+        byLocation.values().forEach(set -> collectLocationConflicts(set, conflicts));
+        return conflicts;
+    }
+
+    public synchronized void upsert(UniversityScheduleDTO schedule) {
+        if (!lazyLoad.isActive()) {
+            return;
+        }
+        remove(schedule.getId());
+        schedules.put(schedule.getId(), schedule);
+        add(byStudentClass.computeIfAbsent(schedule.getStudentClassId(), k -> new IntervalSet()), schedule);
+        add(byLocation.computeIfAbsent(normalizeLocation(schedule.getLocation()), k -> new IntervalSet()), schedule);
+    }
+
+    public synchronized void remove(Long scheduleId) {
+        UniversityScheduleDTO old = schedules.remove(scheduleId);
+        if (old == null) {
+            return;
+        }
+        IntervalSet classSet = byStudentClass.get(old.getStudentClassId());
+        if (classSet != null) {
+            classSet.remove(scheduleId);
+        }
+        IntervalSet locationSet = byLocation.get(normalizeLocation(old.getLocation()));
+        if (locationSet != null) {
+            locationSet.remove(scheduleId);
+        }
+    }
+
+    /**
+     * Drops the indexes so they reload on next use; cheaper than upserting after a large import.
+     */
+    public synchronized void reset() {
+        schedules.clear();
+        byStudentClass.clear();
+        byLocation.clear();
+        lazyLoad.reset();
+    }
+
+    private void ensureLoaded() {
+        lazyLoad.ensureLoaded(() -> universityScheduleRepository.findAllAsDTO().forEach(this::upsert), this::reset);
+    }
+
+    private void collectClassConflicts(IntervalSet set, List<TimetableConflictDTO> out) {
+        if (set == null) {
+            return;
+        }
+        set.forEachOverlappingPair((a, b) -> {
+            UniversityScheduleDTO first = schedules.get(a);
+            UniversityScheduleDTO second = schedules.get(b);
+            out.add(conflict(first, second, "Overlapping classes in " + first.getStudentClassName() + ": "
+                    + first.getCourseName() + " and " + second.getCourseName()));
+        });
+    }
+
+    private void collectLocationConflicts(IntervalSet set, List<TimetableConflictDTO> out) {
+        if (set == null) {
+            return;
+        }
+        set.forEachOverlappingPair((a, b) -> {
+            UniversityScheduleDTO first = schedules.get(a);
+            UniversityScheduleDTO second = schedules.get(b);
+            out.add(conflict(first, second, "Room " + first.getLocation() + " is double-booked: "
+                    + first.getCourseName() + " (" + first.getStudentClassName() + ") and "
+                    + second.getCourseName() + " (" + second.getStudentClassName() + ")"));
+        });
+    }
+
+    private static boolean add(IntervalSet set, UniversityScheduleDTO s) {
+        DayOfWeek day = s.getDay();
+        if (day == null || s.getStartTime() == null || s.getEndTime() == null) {
+            return false;
+        }
+        set.add(s.getId(), WeekTime.minuteOfWeek(day, s.getStartTime()), WeekTime.minuteOfWeek(day, s.getEndTime()));
+        return true;
+    }
+
+    private static TimetableConflictDTO conflict(UniversityScheduleDTO a, UniversityScheduleDTO b, String message) {
+        return new TimetableConflictDTO(WeekTime.dayName(a.getDay()), a.getId(), b.getId(), message);
+    }
+
+    private static String normalizeLocation(String location) {
+        return location == null ? "" : location.trim().toLowerCase();
+    }
+}
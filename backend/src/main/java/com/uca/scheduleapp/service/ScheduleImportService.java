@@ -0,0 +1,400 @@
+package com.uca.scheduleapp.service;
+
+import com.uca.scheduleapp.dto.GymScheduleDTO;
+import com.uca.scheduleapp.dto.ImportProblemDTO;
+import com.uca.scheduleapp.dto.ImportReportDTO;
+import com.uca.scheduleapp.dto.MealDTO;
+import com.uca.scheduleapp.dto.UniversityScheduleDTO;
+import com.uca.scheduleapp.model.GymSchedule;
+import com.uca.scheduleapp.model.Meal;
+import com.uca.scheduleapp.model.StudentClass;
+import com.uca.scheduleapp.repository.GymScheduleRepository;
+import com.uca.scheduleapp.repository.MealRepository;
+import com.uca.scheduleapp.repository.StudentClassRepository;
+import com.uca.scheduleapp.repository.UniversityScheduleRepository;
+import com.uca.scheduleapp.util.CsvReader;
+import com.uca.scheduleapp.util.TransactionHooks;
+import com.uca.scheduleapp.util.WeekTime;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams a CSV timetable into lessons, meals and gym hours, one record at a time.
+ * Columns are matched by header name, in any order:
+ * - kind: lesson, meal or gym
+ * - student_class: class name for lessons and meals, several separated by ';'
+ * - course_name, location: lessons
+ * - meal_type, menu: meals (menu optional)
+ * - gender: gym
+ * - day: lessons and gym
+ * - start_time, end_time: all kinds (gym open and close)
+ * Class names resolve through a map loaded once, and existing lessons and gym hours are loaded once
+ * into interval sets, so overlaps with them and within the file are checked in memory: lessons per
+ * class and per room, gym hours per gender. A lesson row listing several classes is one shared
+ * lesson and books its room once. Rows are
+ * written in JDBC batches inside one transaction that is rolled back if any row has a problem.
+ * A dry run performs the same checks and writes nothing.
+ */
+@Service
+public class ScheduleImportService {
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("H:mm[:ss]");
+    private static final List<String> REQUIRED_COLUMNS = List.of("kind", "start_time", "end_time");
+
+    @Autowired
+    private StudentClassRepository studentClassRepository;
+
+    @Autowired
+    private UniversityScheduleRepository universityScheduleRepository;
+
+    @Autowired
+    private MealRepository mealRepository;
+
+    @Autowired
+    private GymScheduleRepository gymScheduleRepository;
+
+    @Autowired
+    private ScheduleConflictEngine conflictEngine;
+
+    @Autowired
+    private WeeklySlotIndex slotIndex;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private MealService mealService;
+
+    @Autowired
+    private GymScheduleService gymScheduleService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${import.max-problems:200}")
+    private int maxProblems;
+
+    private TransactionTemplate tx;
+
+    @PostConstruct
+    void init() {
+        tx = new TransactionTemplate(transactionManager);
+    }
+
+    public ImportReportDTO importCsv(InputStream input, boolean dryRun) {
+        ImportReportDTO report = new ImportReportDTO();
+        report.setDryRun(dryRun);
+        tx.executeWithoutResult(status -> {
+            ImportRun run = new ImportRun(report, dryRun);
+            try (CsvReader reader = new CsvReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+                run.read(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (dryRun || run.problemCount > 0) {
+                status.setRollbackOnly();
+                return;
+            }
+            report.setApplied(true);
+            // Reload the in-memory indexes rather than upserting a whole term row by row
+            TransactionHooks.afterCommit(() -> {
+                conflictEngine.reset();
+                slotIndex.reset();
+                searchService.reset();
+            });
+            mealService.evictAllMeals();
+            gymScheduleService.evictAllGymSchedules();
+        });
+        return report;
+    }
+
+    /**
+     * State for one import. Only the current batch of rows is buffered; interval sets keep
+     * what is needed for overlap checks.
+     */
+    private final class ImportRun {
+        private final ImportReportDTO report;
+        private final boolean dryRun;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private final Map<String, StudentClass> classesByName = new HashMap<>();
+        private final Map<Long, IntervalSet> lessonsByClass = new HashMap<>();
+        // Keyed by normalized location
+        private final Map<String, IntervalSet> lessonsByLocation = new HashMap<>();
+        private final Map<String, IntervalSet> gymByGender = new HashMap<>();
+        // Descriptions for conflict messages; existing rows keep their ids, imported rows get negative ones
+        private final Map<Long, String> lessonLabels = new HashMap<>();
+        private final Map<Long, String> gymLabels = new HashMap<>();
+        private final List<UniversityScheduleDTO> lessonBatch = new ArrayList<>();
+        private final List<MealDTO> mealBatch = new ArrayList<>();
+        private final List<GymScheduleDTO> gymBatch = new ArrayList<>();
+        private long plannedId = -1;
+        private int problemCount;
+        private int row = 1;
+        private List<String> record;
+
+        ImportRun(ImportReportDTO report, boolean dryRun) {
+            this.report = report;
+            this.dryRun = dryRun;
+        }
+
+        void read(CsvReader reader) throws IOException {
+            List<String> header = reader.next();
+            if (header == null) {
+                problem("File is empty");
+                return;
+            }
+            for (int i = 0; i < header.size(); i++) {
+                columns.putIfAbsent(header.get(i).trim().toLowerCase(), i);
+            }
+            for (String column : REQUIRED_COLUMNS) {
+                if (!columns.containsKey(column)) {
+                    problem("Missing column: " + column);
+                }
+            }
+            if (problemCount > 0) {
+                return;
+            }
+            prefetch();
+            while ((record = reader.next()) != null) {
+                row++;
+                report.setRowsRead(report.getRowsRead() + 1);
+                readRecord();
+                if (lessonBatch.size() + mealBatch.size() + gymBatch.size() >= batchSize) {
+                    flush();
+                }
+            }
+            flush();
+        }
+
+        private void prefetch() {
+            for (StudentClass studentClass : studentClassRepository.findAll()) {
+                classesByName.putIfAbsent(studentClass.getName().trim().toLowerCase(), studentClass);
+            }
+            for (UniversityScheduleDTO s : universityScheduleRepository.findAllAsDTO()) {
+                int from = WeekTime.minuteOfWeek(s.getDay(), s.getStartTime());
+                int to = WeekTime.minuteOfWeek(s.getDay(), s.getEndTime());
+                lessonsByClass.computeIfAbsent(s.getStudentClassId(), k -> new IntervalSet()).add(s.getId(), from, to);
+                lessonsByLocation.computeIfAbsent(normalizeLocation(s.getLocation()), k -> new IntervalSet())
+                        .add(s.getId(), from, to);
+                lessonLabels.put(s.getId(), describe(s.getCourseName(), s.getDay(), s.getStartTime(), s.getEndTime()));
+            }
+            for (GymSchedule g : gymScheduleRepository.findAll()) {
+                gymByGender.computeIfAbsent(g.getGender().name(), k -> new IntervalSet()).add(g.getId(),
+                        WeekTime.minuteOfWeek(g.getDay(), g.getOpenTime()), WeekTime.minuteOfWeek(g.getDay(), g.getCloseTime()));
+                gymLabels.put(g.getId(), describe("gym hours", g.getDay(), g.getOpenTime(), g.getCloseTime()));
+            }
+        }
+
+        private void readRecord() {
+            LocalTime start = parseTime(value("start_time"));
+            LocalTime end = parseTime(value("end_time"));
+            if (start == null || end == null) {
+                problem("Invalid start_time or end_time, expected HH:mm");
+                return;
+            }
+            if (!start.isBefore(end)) {
+                problem("start_time must be before end_time");
+                return;
+            }
+            String kind = value("kind").toLowerCase();
+            switch (kind) {
+                case "lesson" -> readLesson(start, end);
+                case "meal" -> readMeal(start, end);
+                case "gym" -> readGym(start, end);
+                default -> problem("Unknown kind '" + kind + "', expected lesson, meal or gym");
+            }
+        }
+
+        private void readLesson(LocalTime start, LocalTime end) {
+            String course = value("course_name");
+            String location = value("location");
+            DayOfWeek day = WeekTime.parseDay(value("day"));
+            if (course.isEmpty() || location.isEmpty()) {
+                problem("course_name and location are required for lessons");
+                return;
+            }
+            String textProblem = UniversityScheduleService.validateLessonText(course, location);
+            if (textProblem != null) {
+                problem(textProblem);
+                return;
+            }
+            if (day == null) {
+                problem("Invalid day: " + value("day"));
+                return;
+            }
+            int from = WeekTime.minuteOfWeek(day, start);
+            int to = WeekTime.minuteOfWeek(day, end);
+            IntervalSet room = lessonsByLocation.computeIfAbsent(normalizeLocation(location), k -> new IntervalSet());
+            String roomClash = firstOverlap(room, lessonLabels, from, to);
+            if (roomClash != null) {
+                problem("Room " + location + " is already booked for " + roomClash);
+            }
+            boolean planned = false;
+            for (StudentClass studentClass : resolveClasses()) {
+                IntervalSet set = lessonsByClass.computeIfAbsent(studentClass.getId(), k -> new IntervalSet());
+                String clash = firstOverlap(set, lessonLabels, from, to);
+                if (clash != null) {
+                    problem("Overlaps " + clash + " in " + studentClass.getName() + "'s schedule");
+                    continue;
+                }
+                long id = plannedId--;
+                set.add(id, from, to);
+                lessonLabels.put(id, describe(course, day, start, end) + " from row " + row);
+                lessonBatch.add(new UniversityScheduleDTO(null, course, day, start, end, location,
+                        studentClass.getId(), studentClass.getName()));
+                report.setLessons(report.getLessons() + 1);
+                planned = true;
+            }
+            if (planned && roomClash == null) {
+                long id = plannedId--;
+                room.add(id, from, to);
+                lessonLabels.put(id, describe(course, day, start, end) + " from row " + row);
+            }
+        }
+
+        private void readMeal(LocalTime start, LocalTime end) {
+            Meal.MealType type;
+            try {
+                type = Meal.MealType.valueOf(value("meal_type").toLowerCase());
+            } catch (IllegalArgumentException e) {
+                problem("Invalid meal_type '" + value("meal_type") + "', expected breakfast, lunch or dinner");
+                return;
+            }
+            String menu = value("menu");
+            for (StudentClass studentClass : resolveClasses()) {
+                mealBatch.add(new MealDTO(null, type.name(), start, end, menu.isEmpty() ? null : menu,
+                        studentClass.getId(), studentClass.getName()));
+                report.setMeals(report.getMeals() + 1);
+            }
+        }
+
+        private void readGym(LocalTime start, LocalTime end) {
+            GymSchedule.Gender gender = null;
+            for (GymSchedule.Gender g : GymSchedule.Gender.values()) {
+                if (g.name().equalsIgnoreCase(value("gender"))) {
+                    gender = g;
+                }
+            }
+            if (gender == null) {
+                problem("Invalid gender '" + value("gender") + "', expected Male or Female");
+                return;
+            }
+            DayOfWeek day = WeekTime.parseDay(value("day"));
+            if (day == null) {
+                problem("Invalid day: " + value("day"));
+                return;
+            }
+            int from = WeekTime.minuteOfWeek(day, start);
+            int to = WeekTime.minuteOfWeek(day, end);
+            IntervalSet set = gymByGender.computeIfAbsent(gender.name(), k -> new IntervalSet());
+            String clash = firstOverlap(set, gymLabels, from, to);
+            if (clash != null) {
+                problem("Overlaps " + clash + " for " + gender.name());
+                return;
+            }
+            long id = plannedId--;
+            set.add(id, from, to);
+            gymLabels.put(id, describe("gym hours", day, start, end) + " from row " + row);
+            gymBatch.add(new GymScheduleDTO(null, gender.name(), day, start, end));
+            report.setGymSchedules(report.getGymSchedules() + 1);
+        }
+
+        // Reports unknown names and returns the classes that resolved
+        private List<StudentClass> resolveClasses() {
+            List<StudentClass> resolved = new ArrayList<>();
+            String names = value("student_class");
+            if (names.isEmpty()) {
+                problem("student_class is required");
+                return resolved;
+            }
+            for (String name : names.split(";")) {
+                String key = name.trim().toLowerCase();
+                if (key.isEmpty()) {
+                    continue;
+                }
+                StudentClass studentClass = classesByName.get(key);
+                if (studentClass == null) {
+                    problem("Unknown student class: " + name.trim());
+                } else if (!resolved.contains(studentClass)) {
+                    resolved.add(studentClass);
+                }
+            }
+            return resolved;
+        }
+
+        // Writes buffered rows; once anything failed the import will roll back, so rows are just dropped
+        private void flush() {
+            if (!dryRun && problemCount == 0) {
+                universityScheduleRepository.insertSchedules(lessonBatch);
+                mealRepository.insertMeals(mealBatch);
+                gymScheduleRepository.insertGymSchedules(gymBatch);
+            }
+            lessonBatch.clear();
+            mealBatch.clear();
+            gymBatch.clear();
+        }
+
+        private String value(String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= record.size()) {
+                return "";
+            }
+            return record.get(index).trim();
+        }
+
+        private void problem(String message) {
+            problemCount++;
+            if (report.getProblems().size() < maxProblems) {
+                report.getProblems().add(new ImportProblemDTO(row, message));
+            } else {
+                report.setProblemsTruncated(true);
+            }
+        }
+    }
+
+    private static String firstOverlap(IntervalSet set, Map<Long, String> labels, int start, int end) {
+        String[] found = {null};
+        set.forEachOverlapping(start, end, id -> {
+            if (found[0] == null) {
+                found[0] = labels.get(id);
+            }
+        });
+        return found[0];
+    }
+
+    private static String describe(String what, DayOfWeek day, LocalTime start, LocalTime end) {
+        return what + " (" + WeekTime.dayName(day) + " " + start + "-" + end + ")";
+    }
+
+    private static String normalizeLocation(String location) {
+        return location == null ? "" : location.trim().toLowerCase();
+    }
+
+    private static LocalTime parseTime(String value) {
+        try {
+            return LocalTime.parse(value, TIME);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
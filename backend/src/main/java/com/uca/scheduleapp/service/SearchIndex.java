@@ -0,0 +1,295 @@
+package com.uca.scheduleapp.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-memory typeahead index over short text fields. Words are kept in a sorted map for prefix
+ * lookups and every field is split into trigrams for matches inside words and for misspellings.
+ * Candidates are always re-scored against the document's current text, so postings left behind by
+ * updates and removals only cost a little scanning; the index is rebuilt once they outnumber the
+ * live ones. Not thread-safe.
+ */
+public class SearchIndex {
+    // Upper bound on documents scored per query, which keeps one-letter queries cheap
+    private static final int MAX_CANDIDATES = 1000;
+    private static final double MIN_SIMILARITY = 0.3;
+    private static final int MIN_STALE_FOR_REBUILD = 4096;
+    // Leading pad so the first letters form their own trigrams and count for more, as in pg_trgm
+    private static final String PADDING = "  ";
+
+    public record Hit(String kind, long id, String title, String subtitle, double score) {
+    }
+
+    private static final Comparator<Hit> BEST_FIRST = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparing(Hit::kind)
+            .thenComparingLong(Hit::id);
+
+    private record Key(String kind, long id) {
+    }
+
+    // fields are normalized; the first one is the title and ranks above the others
+    private record Doc(String kind, long id, String title, String subtitle, String[] fields, int postings) {
+    }
+
+    private final List<Doc> docs = new ArrayList<>();
+    private final Map<Key, Integer> slots = new HashMap<>();
+    private final TreeMap<String, IntList> words = new TreeMap<>();
+    private final Map<String, IntList> trigrams = new HashMap<>();
+    private int livePostings;
+    private int stalePostings;
+    private int[] seen = new int[0];
+    private int stamp;
+
+    /**
+     * Adds or replaces a document. Null fields are skipped.
+     */
+    public void upsert(String kind, long id, String title, String subtitle, String... fields) {
+        remove(kind, id);
+        List<String> normalized = new ArrayList<>(fields.length);
+        for (String field : fields) {
+            String n = normalize(field);
+            if (!n.isEmpty()) {
+                normalized.add(n);
+            }
+        }
+        int slot = docs.size();
+        int postings = addPostings(slot, normalized);
+        docs.add(new Doc(kind, id, title, subtitle, normalized.toArray(new String[0]), postings));
+        slots.put(new Key(kind, id), slot);
+        livePostings += postings;
+    }
+
+    public void remove(String kind, long id) {
+        Integer slot = slots.remove(new Key(kind, id));
+        if (slot == null) {
+            return;
+        }
+        Doc old = docs.set(slot, null);
+        livePostings -= old.postings();
+        stalePostings += old.postings();
+        if (stalePostings > MIN_STALE_FOR_REBUILD && stalePostings > livePostings) {
+            rebuild();
+        }
+    }
+
+    public void clear() {
+        docs.clear();
+        slots.clear();
+        words.clear();
+        trigrams.clear();
+        livePostings = 0;
+        stalePostings = 0;
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * Best matches first: exact field, field prefix, word prefix, substring, then trigram
+     * similarity. Within each tier shorter fields score higher, so "Math" ranks above
+     * "Mathematical Logic" for "mat". A null kind searches every kind.
+     */
+    public List<Hit> search(String query, String kind, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        if (seen.length < docs.size()) {
+            seen = new int[Math.max(docs.size(), seen.length * 2)];
+        }
+        stamp++;
+
+        String[] grams = q.length() >= 3 ? distinctTrigrams(q) : new String[0];
+        Query run = new Query(q, grams, kind, limit);
+
+        // Word prefixes first; the query's first word is the one being typed in most typeaheads
+        String firstWord = q.split("[^\\p{L}\\p{N}]+", 2)[0];
+        if (!firstWord.isEmpty()) {
+            for (IntList postings : words.subMap(firstWord, true, firstWord + Character.MAX_VALUE, false).values()) {
+                if (!collect(postings, run)) {
+                    break;
+                }
+            }
+        }
+        // Then trigram postings, rarest first, so documents containing the whole query come early
+        if (grams.length > 0 && run.scanned < MAX_CANDIDATES) {
+            List<IntList> lists = new ArrayList<>();
+            for (String gram : grams) {
+                IntList postings = trigrams.get(gram);
+                if (postings != null) {
+                    lists.add(postings);
+                }
+            }
+            lists.sort(Comparator.comparingInt(IntList::size));
+            for (IntList postings : lists) {
+                if (!collect(postings, run)) {
+                    break;
+                }
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(run.top);
+        hits.sort(BEST_FIRST);
+        return hits;
+    }
+
+    // State of one search: the best hits so far, worst at the head, and the candidate count
+    private static final class Query {
+        final String q;
+        final String[] grams;
+        final String kind;
+        final int limit;
+        final PriorityQueue<Hit> top;
+        int scanned;
+
+        Query(String q, String[] grams, String kind, int limit) {
+            this.q = q;
+            this.grams = grams;
+            this.kind = kind;
+            this.limit = limit;
+            this.top = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        }
+    }
+
+    // False once the candidate budget is spent
+    private boolean collect(IntList postings, Query run) {
+        for (int i = 0; i < postings.size; i++) {
+            int slot = postings.data[i];
+            if (seen[slot] == stamp) {
+                continue;
+            }
+            seen[slot] = stamp;
+            Doc doc = docs.get(slot);
+            if (doc == null || (run.kind != null && !run.kind.equals(doc.kind()))) {
+                continue;
+            }
+            double score = score(doc, run.q, run.grams);
+            if (score > 0 && (run.top.size() < run.limit || score >= run.top.peek().score())) {
+                run.top.add(new Hit(doc.kind(), doc.id(), doc.title(), doc.subtitle(), score));
+                if (run.top.size() > run.limit) {
+                    run.top.poll();
+                }
+            }
+            if (++run.scanned >= MAX_CANDIDATES) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double score(Doc doc, String q, String[] grams) {
+        double best = 0;
+        String[] fields = doc.fields();
+        for (int i = 0; i < fields.length; i++) {
+            double s = fieldScore(fields[i], q, grams);
+            if (s > 0 && i > 0) {
+                s -= 5;
+            }
+            best = Math.max(best, s);
+        }
+        return best;
+    }
+
+    private static double fieldScore(String field, String q, String[] grams) {
+        // Up to 9 points off for text beyond the query
+        double lengthPenalty = Math.min(9, (field.length() - q.length()) / 4.0);
+        if (field.equals(q)) {
+            return 100;
+        }
+        if (field.startsWith(q)) {
+            return 90 - lengthPenalty;
+        }
+        int at = field.indexOf(q);
+        if (at > 0) {
+            return Character.isLetterOrDigit(field.charAt(at - 1)) ? 60 - lengthPenalty : 75 - lengthPenalty;
+        }
+        if (grams.length == 0) {
+            return 0;
+        }
+        String padded = PADDING + field;
+        int shared = 0;
+        for (String gram : grams) {
+            if (padded.contains(gram)) {
+                shared++;
+            }
+        }
+        double similarity = (double) shared / (grams.length + padded.length() - 2 - shared);
+        return similarity >= MIN_SIMILARITY ? 50 * similarity : 0;
+    }
+
+    private int addPostings(int slot, List<String> fields) {
+        Set<String> wordKeys = new HashSet<>();
+        Set<String> gramKeys = new HashSet<>();
+        for (String field : fields) {
+            for (String word : field.split("[^\\p{L}\\p{N}]+")) {
+                if (!word.isEmpty()) {
+                    wordKeys.add(word);
+                }
+            }
+            gramKeys.addAll(Arrays.asList(distinctTrigrams(field)));
+        }
+        for (String word : wordKeys) {
+            words.computeIfAbsent(word, k -> new IntList()).add(slot);
+        }
+        for (String gram : gramKeys) {
+            trigrams.computeIfAbsent(gram, k -> new IntList()).add(slot);
+        }
+        return wordKeys.size() + gramKeys.size();
+    }
+
+    private void rebuild() {
+        List<Doc> live = new ArrayList<>(slots.size());
+        for (Doc doc : docs) {
+            if (doc != null) {
+                live.add(doc);
+            }
+        }
+        clear();
+        for (Doc doc : live) {
+            int slot = docs.size();
+            int postings = addPostings(slot, Arrays.asList(doc.fields()));
+            docs.add(new Doc(doc.kind(), doc.id(), doc.title(), doc.subtitle(), doc.fields(), postings));
+            slots.put(new Key(doc.kind(), doc.id()), slot);
+            livePostings += postings;
+        }
+    }
+
+    private static String[] distinctTrigrams(String s) {
+        String padded = PADDING + s;
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams.toArray(new String[0]);
+    }
+
+    private static String normalize(String s) {
+        return s == null ? "" : s.trim().toLowerCase();
+    }
+
+    private static final class IntList {
+        int[] data = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.uca.scheduleapp.service;
+
+import com.uca.scheduleapp.dto.CourseDTO;
+import com.uca.scheduleapp.dto.SearchResultDTO;
+import com.uca.scheduleapp.dto.UniversityScheduleDTO;
+import com.uca.scheduleapp.dto.UserResponse;
+import com.uca.scheduleapp.model.Course;
+import com.uca.scheduleapp.repository.CourseRepository;
+import com.uca.scheduleapp.repository.UniversityScheduleRepository;
+import com.uca.scheduleapp.repository.UserRepository;
+import com.uca.scheduleapp.repository.UserRepositoryCustom;
+import com.uca.scheduleapp.util.WeekTime;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Admin typeahead over users (username, email), courses (name) and lessons (course name, location).
+ * Loaded on first use and updated by the owning services after each commit.
+ */
+@Service
+public class SearchService {
+    public static final String USER = "user";
+    public static final String COURSE = "course";
+    public static final String LESSON = "lesson";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UniversityScheduleRepository universityScheduleRepository;
+
+    private final SearchIndex index = new SearchIndex();
+    private final LazyLoad lazyLoad = new LazyLoad();
+
+    /**
+     * Ranked matches for the query, optionally limited to one kind.
+     */
+    public synchronized List<SearchResultDTO> search(String query, String kind, int limit) {
+        ensureLoaded();
+        List<SearchResultDTO> results = new ArrayList<>();
+        for (SearchIndex.Hit hit : index.search(query, kind, limit)) {
+            results.add(new SearchResultDTO(hit.kind(), hit.id(), hit.title(), hit.subtitle(),
+                    Math.round(hit.score() * 10) / 10.0));
+        }
+        return results;
+    }
+
+    public synchronized void upsertUser(UserResponse user) {
+        if (lazyLoad.isActive()) {
+            index.upsert(USER, user.getId(), user.getUsername(), user.getEmail(), user.getUsername(), user.getEmail());
+        }
+    }
+
+    public synchronized void removeUser(Long userId) {
+        index.remove(USER, userId);
+    }
+
+    public synchronized void upsertCourse(CourseDTO course) {
+        if (lazyLoad.isActive()) {
+            index.upsert(COURSE, course.getId(), course.getName(), course.getYearLevel(), course.getName());
+        }
+    }
+
+    public synchronized void removeCourse(Long courseId) {
+        index.remove(COURSE, courseId);
+    }
+
+    public synchronized void upsertLesson(UniversityScheduleDTO lesson) {
+        if (lazyLoad.isActive()) {
+            index.upsert(LESSON, lesson.getId(), lesson.getCourseName(), lessonSubtitle(lesson),
+                    lesson.getCourseName(), lesson.getLocation());
+        }
+    }
+
+    public synchronized void removeLesson(Long scheduleId) {
+        index.remove(LESSON, scheduleId);
+    }
+
+    /**
+     * Drops the index so it reloads on next use; for bulk imports and class renames, which touch
+     * many documents at once.
+     */
+    public synchronized void reset() {
+        index.clear();
+        lazyLoad.reset();
+    }
+
+    private void ensureLoaded() {
+        lazyLoad.ensureLoaded(this::load, this::reset);
+    }
+
+    private void load() {
+        userRepository.findListing(new UserRepositoryCustom.Listing(null, null, null, null, "id", false))
+                .forEach(this::upsertUser);
+        for (Course c : courseRepository.findAll()) {
+            upsertCourse(new CourseDTO(c.getId(), c.getName(), c.getYearLevel().name()));
+        }
+        universityScheduleRepository.findAllAsDTO().forEach(this::upsertLesson);
+    }
+
+    private static String lessonSubtitle(UniversityScheduleDTO lesson) {
+        StringBuilder s = new StringBuilder();
+        if (lesson.getDay() != null) {
+            s.append(WeekTime.dayName(lesson.getDay())).append(' ');
+        }
+        s.append(lesson.getStartTime()).append('-').append(lesson.getEndTime());
+        if (lesson.getLocation() != null && !lesson.getLocation().isBlank()) {
+            s.append(", ").append(lesson.getLocation());
+        }
+        if (lesson.getStudentClassName() != null) {
+            s.append(", ").append(lesson.getStudentClassName());
+        }
+        return s.toString();
+    }
+}
@@ -3,7 +3,12 @@ package com.uca.scheduleapp.service;
 import com.uca.scheduleapp.dto.StudentClassDTO;
 import com.uca.scheduleapp.model.StudentClass;
 import com.uca.scheduleapp.repository.StudentClassRepository;
+import com.uca.scheduleapp.util.CacheRegistry;
+import com.uca.scheduleapp.util.ReadThroughCache;
+import com.uca.scheduleapp.util.TransactionHooks;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,10 +23,32 @@ public class StudentClassService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private TimetableService timetableService;
+
+    @Autowired
+    private MealService mealService;
+
+    @Autowired
+    private CacheRegistry cacheRegistry;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Value("${reference-cache.ttl:300000}")
+    private long cacheTtl;
+
+    private ReadThroughCache<String, List<StudentClassDTO>> studentClassCache;
+
+    @PostConstruct
+    void initCache() {
+        studentClassCache = cacheRegistry.createReadThrough("student-classes", 1, cacheTtl);
+    }
+
     public List<StudentClassDTO> getAllStudentClasses() {
-        return studentClassRepository.findAll().stream()
+        return studentClassCache.get("all", () -> List.copyOf(studentClassRepository.findAll().stream()
                 .map(this::toDTO)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList())));
     }
 
     public StudentClassDTO getStudentClassById(Long id) {
@@ -36,6 +63,7 @@ public class StudentClassService {
         studentClass.setName(request.getName());
         studentClass.setYearLevel(StudentClass.YearLevel.valueOf(request.getYearLevel()));
         StudentClass saved = studentClassRepository.save(studentClass);
+        studentClassCache.invalidateAllAfterCommit();
         notificationService.notifyAllUsers("CLASS_CREATED", "New class available: " + saved.getName());
         return toDTO(saved);
     }
@@ -51,6 +79,11 @@ public class StudentClassService {
             studentClass.setYearLevel(StudentClass.YearLevel.valueOf(request.getYearLevel()));
         }
         StudentClass saved = studentClassRepository.save(studentClass);
+        studentClassCache.invalidateAllAfterCommit();
+        // Class names are embedded in cached timetable entries, meal listings and lesson search results
+        timetableService.evictAllTimetables();
+        mealService.evictAllMeals();
+        TransactionHooks.afterCommit(searchService::reset);
         notificationService.notifyAllUsers("CLASS_UPDATED", "Class updated: " + saved.getName());
         return toDTO(saved);
     }
@@ -60,6 +93,9 @@ public class StudentClassService {
         StudentClass studentClass = studentClassRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Student class not found"));
         studentClassRepository.delete(studentClass);
+        studentClassCache.invalidateAllAfterCommit();
+        mealService.evictAllMeals();
+        TransactionHooks.afterCommit(searchService::reset);
     }
 
     private StudentClassDTO toDTO(StudentClass studentClass) {
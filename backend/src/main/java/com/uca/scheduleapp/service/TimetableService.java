@@ -1,51 +1,124 @@
 package com.uca.scheduleapp.service;
 
 import com.uca.scheduleapp.dto.*;
-import com.uca.scheduleapp.model.TimetableSelection;
 import com.uca.scheduleapp.model.UniversitySchedule;
 import com.uca.scheduleapp.model.User;
 import com.uca.scheduleapp.repository.TimetableSelectionRepository;
 import com.uca.scheduleapp.repository.UniversityScheduleRepository;
+import com.uca.scheduleapp.repository.UserRepository;
+import com.uca.scheduleapp.util.CacheRegistry;
+import com.uca.scheduleapp.util.ReadThroughCache;
+import com.uca.scheduleapp.util.TransactionHooks;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
 public class TimetableService {
+    private static final DateTimeFormatter ICS_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    /**
+     * Validators for a user's calendar, from the persisted time of the last timetable change.
+     * Events are anchored on the current day, so the anchor is part of the ETag and Last-Modified
+     * never predates it.
+     */
+    public record CalendarVersion(Long userId, LocalDate anchor, String etag, long lastModified) {
+    }
+
+    /**
+     * A user's calendar ready to be streamed.
+     */
+    public record IcsCalendar(Long userId, List<UniversityScheduleDTO> entries, LocalDate anchor) {
+    }
+
     @Autowired
     private TimetableSelectionRepository timetableSelectionRepository;
 
     @Autowired
     private UniversityScheduleRepository universityScheduleRepository;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ScheduleConflictEngine conflictEngine;
+
+    @Autowired
+    private CacheRegistry cacheRegistry;
+
+    @Value("${timetable.cache.size:10000}")
+    private int cacheSize;
+
+    @Value("${timetable.cache.ttl:600000}")
+    private long cacheTtl;
+
+    // Materialized timetables per user id, invalidated by the events that can change them
+    private ReadThroughCache<Long, TimetableResponse> timetableCache;
+
+    @PostConstruct
+    void initCache() {
+        timetableCache = cacheRegistry.createReadThrough("timetable", cacheSize, cacheTtl);
+    }
+
     public TimetableResponse getMyTimetable(User user) {
-        List<UniversitySchedule> schedules = timetableSelectionRepository.findByUser(user)
-            .stream()
-            .map(TimetableSelection::getSchedule)
-            .collect(Collectors.toList());
+        return getTimetable(user.getId());
+    }
 
-        List<TimetableConflictDTO> conflicts = detectOverlaps(schedules);
-        List<UniversityScheduleDTO> entries = schedules.stream().map(this::toDTO).collect(Collectors.toList());
-        return new TimetableResponse(entries, conflicts);
+    public TimetableResponse getTimetable(Long userId) {
+        return timetableCache.get(userId, () -> {
+            List<UniversityScheduleDTO> entries = timetableSelectionRepository.findScheduleDTOsByUserId(userId);
+            return new TimetableResponse(entries, detectOverlaps(entries));
+        });
+    }
+
+    public void evictTimetable(Long userId) {
+        TransactionHooks.afterCommit(() -> timetableCache.invalidate(userId));
+    }
+
+    /**
+     * Records a change to the timetable of every user who selected this schedule and evicts it.
+     * Call before updating or deleting the schedule.
+     */
+    public void touchTimetablesForSchedule(Long scheduleId) {
+        List<Long> userIds = timetableSelectionRepository.findUserIdsByScheduleId(scheduleId);
+        if (userIds.isEmpty()) {
+            return;
+        }
+        userRepository.touchTimetables(userIds, LocalDateTime.now());
+        TransactionHooks.afterCommit(() -> userIds.forEach(timetableCache::invalidate));
+    }
+
+    public void evictAllTimetables() {
+        timetableCache.invalidateAllAfterCommit();
     }
 
     @Transactional
     public TimetableResponse updateMyTimetable(User user, TimetableUpdateRequest request) {
-        timetableSelectionRepository.deleteByUser(user);
+        evictTimetable(user.getId());
+        Set<Long> existingIds = new HashSet<>(timetableSelectionRepository.findScheduleIdsByUser(user));
 
         List<Long> ids = request.getScheduleIds() != null ? request.getScheduleIds() : List.of();
         if (ids.isEmpty()) {
+            if (!existingIds.isEmpty()) {
+                timetableSelectionRepository.deleteByUser(user);
+                userRepository.touchTimetables(List.of(user.getId()), LocalDateTime.now());
+            }
             return new TimetableResponse(List.of(), List.of());
         }
 
-        List<UniversitySchedule> schedules = universityScheduleRepository.findAllById(ids);
+        List<UniversitySchedule> schedules = universityScheduleRepository.findAllByIdWithStudentClass(ids);
 
         // Validate access: students can only select within their studentClass
         if (!Boolean.TRUE.equals(user.getIsSuperuser())) {
@@ -59,87 +132,92 @@ public class TimetableService {
             }
         }
 
-        for (UniversitySchedule schedule : schedules) {
-            TimetableSelection selection = new TimetableSelection();
-            selection.setUser(user);
-            selection.setSchedule(schedule);
-            timetableSelectionRepository.save(selection);
+        // Apply only the diff: one bulk delete for removed ids, one batched insert for added ids
+        Set<Long> requestedIds = schedules.stream()
+            .map(UniversitySchedule::getId)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<Long> removedIds = new HashSet<>(existingIds);
+        removedIds.removeAll(requestedIds);
+        Set<Long> addedIds = new LinkedHashSet<>(requestedIds);
+        addedIds.removeAll(existingIds);
+
+        if (!removedIds.isEmpty()) {
+            timetableSelectionRepository.deleteByUserAndScheduleIds(user, removedIds);
+        }
+        timetableSelectionRepository.insertSelections(user.getId(), addedIds);
+        if (!removedIds.isEmpty() || !addedIds.isEmpty()) {
+            userRepository.touchTimetables(List.of(user.getId()), LocalDateTime.now());
         }
 
-        List<TimetableConflictDTO> conflicts = detectOverlaps(schedules);
         List<UniversityScheduleDTO> entries = schedules.stream().map(this::toDTO).collect(Collectors.toList());
-        return new TimetableResponse(entries, conflicts);
+        return new TimetableResponse(entries, detectOverlaps(entries));
     }
 
-    public String exportMyTimetableAsIcs(User user) {
-        List<UniversitySchedule> schedules = timetableSelectionRepository.findByUser(user)
-            .stream()
-            .map(TimetableSelection::getSchedule)
-            .collect(Collectors.toList());
+    public int getCalendarTokenVersion(Long userId) {
+        return userRepository.findCalendarTokenVersion(userId)
+            .orElseThrow(() -> new RuntimeException("User not found"));
+    }
 
-        StringBuilder sb = new StringBuilder();
-        sb.append("BEGIN:VCALENDAR\r\n");
-        sb.append("VERSION:2.0\r\n");
-        sb.append("PRODID:-//UCA Schedule App//EN\r\n");
+    public boolean isCalendarTokenCurrent(long userId, int calendarTokenVersion) {
+        return userRepository.findCalendarTokenVersion(userId)
+            .map(version -> version == calendarTokenVersion)
+            .orElse(false);
+    }
 
+    /**
+     * Revokes every calendar feed URL issued so far and returns the version for the new one.
+     */
+    @Transactional
+    public int rotateCalendarToken(Long userId) {
+        User user = userRepository.findById(userId)
+            .orElseThrow(() -> new RuntimeException("User not found"));
+        user.setCalendarTokenVersion(user.getCalendarTokenVersion() + 1);
+        return userRepository.save(user).getCalendarTokenVersion();
+    }
+
+    public CalendarVersion getCalendarVersion(Long userId) {
         LocalDate today = LocalDate.now();
-        DateTimeFormatter dtFmt = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+        long changedAt = userRepository.findTimetableUpdatedAt(userId)
+            .map(at -> at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+            .orElse(0L);
+        long anchoredAt = today.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        // HTTP dates have second precision
+        long lastModified = Math.max(changedAt, anchoredAt) / 1000 * 1000;
+        return new CalendarVersion(userId, today, today + "-" + changedAt, lastModified);
+    }
+
+    public IcsCalendar getCalendar(CalendarVersion version) {
+        List<UniversityScheduleDTO> entries = getTimetable(version.userId()).getEntries();
+        return new IcsCalendar(version.userId(), entries, version.anchor());
+    }
 
-        for (UniversitySchedule s : schedules) {
-            DayOfWeek dow = parseDayOfWeek(s.getDay());
-            LocalDate date = nextOrSame(today, dow);
+    public void writeIcs(IcsCalendar calendar, Writer out) throws IOException {
+        out.write("BEGIN:VCALENDAR\r\n");
+        out.write("VERSION:2.0\r\n");
+        out.write("PRODID:-//UCA Schedule App//EN\r\n");
+
+        for (UniversityScheduleDTO s : calendar.entries()) {
+            LocalDate date = nextOrSame(calendar.anchor(), s.getDay());
             LocalDateTime start = LocalDateTime.of(date, s.getStartTime());
             LocalDateTime end = LocalDateTime.of(date, s.getEndTime());
 
-            String uid = "uca-" + s.getId() + "-" + user.getId() + "@uca-schedule";
+            String uid = "uca-" + s.getId() + "-" + calendar.userId() + "@uca-schedule";
 
-            sb.append("BEGIN:VEVENT\r\n");
-            sb.append("UID:").append(uid).append("\r\n");
-            sb.append("SUMMARY:").append(escapeIcs(s.getCourseName())).append("\r\n");
-            sb.append("LOCATION:").append(escapeIcs(s.getLocation())).append("\r\n");
-            sb.append("DTSTART:").append(dtFmt.format(start)).append("\r\n");
-            sb.append("DTEND:").append(dtFmt.format(end)).append("\r\n");
-            sb.append("RRULE:FREQ=WEEKLY\r\n");
-            sb.append("END:VEVENT\r\n");
+            out.write("BEGIN:VEVENT\r\n");
+            out.write("UID:" + uid + "\r\n");
+            out.write("SUMMARY:" + escapeIcs(s.getCourseName()) + "\r\n");
+            out.write("LOCATION:" + escapeIcs(s.getLocation()) + "\r\n");
+            out.write("DTSTART:" + ICS_DATE_TIME.format(start) + "\r\n");
+            out.write("DTEND:" + ICS_DATE_TIME.format(end) + "\r\n");
+            out.write("RRULE:FREQ=WEEKLY\r\n");
+            out.write("END:VEVENT\r\n");
         }
 
-        sb.append("END:VCALENDAR\r\n");
-        return sb.toString();
+        out.write("END:VCALENDAR\r\n");
     }
 
-    private List<TimetableConflictDTO> detectOverlaps(List<UniversitySchedule> schedules) {
-        Map<String, List<UniversitySchedule>> byDay = schedules.stream()
-            .collect(Collectors.groupingBy(UniversitySchedule::getDay));
-
-        List<TimetableConflictDTO> conflicts = new ArrayList<>();
-
-        for (Map.Entry<String, List<UniversitySchedule>> entry : byDay.entrySet()) {
-            List<UniversitySchedule> daySchedules = new ArrayList<>(entry.getValue());
-            daySchedules.sort(Comparator.comparing(UniversitySchedule::getStartTime));
-
-            for (int i = 0; i < daySchedules.size(); i++) {
-                UniversitySchedule a = daySchedules.get(i);
-                for (int j = i + 1; j < daySchedules.size(); j++) {
-                    UniversitySchedule b = daySchedules.get(j);
-
-                    // since sorted by startTime, can break early
-                    if (!b.getStartTime().isBefore(a.getEndTime())) {
-                        break;
-                    }
-
-                    if (a.getStartTime().isBefore(b.getEndTime()) && a.getEndTime().isAfter(b.getStartTime())) {
-                        conflicts.add(new TimetableConflictDTO(
-                            entry.getKey(),
-                            a.getId(),
-                            b.getId(),
-                            "Overlapping classes: " + a.getCourseName() + " and " + b.getCourseName()
-                        ));
-                    }
-                }
-            }
-        }
-
-        return conflicts;
+    private List<TimetableConflictDTO> detectOverlaps(List<UniversityScheduleDTO> schedules) {
+        return conflictEngine.detect(schedules);
     }
 
     private UniversityScheduleDTO toDTO(UniversitySchedule schedule) {
@@ -155,20 +233,6 @@ public class TimetableService {
         );
     }
 
-    private DayOfWeek parseDayOfWeek(String day) {
-        if (day == null) return DayOfWeek.MONDAY;
-        return switch (day.trim().toLowerCase()) {
-            case "monday" -> DayOfWeek.MONDAY;
-            case "tuesday" -> DayOfWeek.TUESDAY;
-            case "wednesday" -> DayOfWeek.WEDNESDAY;
-            case "thursday" -> DayOfWeek.THURSDAY;
-            case "friday" -> DayOfWeek.FRIDAY;
-            case "saturday" -> DayOfWeek.SATURDAY;
-            case "sunday" -> DayOfWeek.SUNDAY;
-            default -> DayOfWeek.MONDAY;
-        };
-    }
-
     private LocalDate nextOrSame(LocalDate date, DayOfWeek target) {
         int diff = target.getValue() - date.getDayOfWeek().getValue();
         if (diff < 0) diff += 7;
@@ -1,5 +1,8 @@
 package com.uca.scheduleapp.service;
 
+import com.uca.scheduleapp.dto.BulkScheduleConflictDTO;
+import com.uca.scheduleapp.dto.BulkScheduleResponse;
+import com.uca.scheduleapp.dto.TimetableConflictDTO;
 import com.uca.scheduleapp.dto.UniversityScheduleDTO;
 import com.uca.scheduleapp.dto.UniversityScheduleRequest;
 import com.uca.scheduleapp.model.StudentClass;
@@ -7,15 +10,35 @@ import com.uca.scheduleapp.model.UniversitySchedule;
 import com.uca.scheduleapp.model.User;
 import com.uca.scheduleapp.repository.StudentClassRepository;
 import com.uca.scheduleapp.repository.UniversityScheduleRepository;
+import com.uca.scheduleapp.repository.UniversityScheduleRepositoryCustom;
+import com.uca.scheduleapp.util.TransactionHooks;
+import com.uca.scheduleapp.util.WeekTime;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class UniversityScheduleService {
+    // Column lengths of university_schedule.course_name and location
+    static final int MAX_COURSE_NAME_LENGTH = 100;
+    static final int MAX_LOCATION_LENGTH = 100;
+
     @Autowired
     private UniversityScheduleRepository universityScheduleRepository;
 
@@ -25,22 +48,50 @@ public class UniversityScheduleService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private TimetableService timetableService;
+
+    @Autowired
+    private ScheduleConflictEngine conflictEngine;
+
+    @Autowired
+    private WeeklySlotIndex slotIndex;
+
+    @Autowired
+    private AdminListings adminListings;
+
+    @Autowired
+    private SearchService searchService;
+
+    // Upper bound on lesson x class rows in one bulk request
+    @Value("${schedule.bulk.max-rows:5000}")
+    private int bulkMaxRows;
+
     public List<UniversityScheduleDTO> getAllSchedules(User user, Long studentClassId) {
-        List<UniversitySchedule> schedules;
         if (Boolean.TRUE.equals(user.getIsSuperuser())) {
-            if (studentClassId != null) {
-                schedules = universityScheduleRepository.findByStudentClassId(studentClassId);
-            } else {
-                schedules = universityScheduleRepository.findAll();
-            }
-        } else {
-            if (user.getStudentClass() != null) {
-                schedules = universityScheduleRepository.findByStudentClass(user.getStudentClass());
-            } else {
-                schedules = List.of();
-            }
+            // Projection with the class joined in, rather than an entity load per row
+            return universityScheduleRepository.findListing(
+                    new UniversityScheduleRepositoryCustom.Listing(studentClassId, null, null, null, "id", false));
+        }
+        if (user.getStudentClass() == null) {
+            return List.of();
         }
-        return schedules.stream().map(this::toDTO).collect(Collectors.toList());
+        return universityScheduleRepository.findByStudentClass(user.getStudentClass()).stream()
+                .map(this::toDTO).collect(Collectors.toList());
+    }
+
+    public AdminListings.Page<UniversityScheduleDTO> listSchedules(UniversityScheduleRepositoryCustom.Listing listing,
+                                                                   String cursor, Integer limit) {
+        int size = adminListings.pageSize(limit);
+        List<UniversityScheduleDTO> rows = universityScheduleRepository.findListingPage(
+                listing, adminListings.decode(cursor), size + 1);
+        return adminListings.page(rows, size,
+                "course_name".equals(listing.sort()) ? UniversityScheduleDTO::getCourseName : null,
+                UniversityScheduleDTO::getId);
+    }
+
+    public void exportSchedules(UniversityScheduleRepositoryCustom.Listing listing, OutputStream out) throws IOException {
+        adminListings.writeNdjson(() -> universityScheduleRepository.streamListing(listing), out);
     }
 
     public UniversityScheduleDTO getScheduleById(Long id, User user) {
@@ -57,47 +108,19 @@ public class UniversityScheduleService {
 
     @Transactional
     public UniversityScheduleDTO createSchedule(UniversityScheduleRequest request, User user) {
+        DayOfWeek day = WeekTime.requireDay(request.getDay());
         if (Boolean.TRUE.equals(user.getIsSuperuser())) {
             if (request.getStudentClassIds() == null || request.getStudentClassIds().isEmpty()) {
                 throw new RuntimeException("Admin must specify at least one Student Class ID");
             }
 
-            if (request.getStartTime() != null && request.getEndTime() != null && 
-                !request.getStartTime().isBefore(request.getEndTime())) {
-                throw new RuntimeException("Start time must be before end time");
-            }
-
-            UniversitySchedule firstSchedule = null;
-            for (Long classId : request.getStudentClassIds()) {
-                StudentClass studentClass = studentClassRepository.findById(classId)
-                        .orElseThrow(() -> new RuntimeException("Student class with ID " + classId + " does not exist"));
-
-                List<UniversitySchedule> overlaps = universityScheduleRepository.findOverlappingSchedules(
-                    studentClass,
-                    request.getDay(),
-                    request.getStartTime(),
-                    request.getEndTime()
-                );
-
-                if (!overlaps.isEmpty()) {
-                    throw new RuntimeException("This class overlaps with another class in " + studentClass.getName() + "'s schedule");
-                }
-
-                UniversitySchedule schedule = new UniversitySchedule();
-                schedule.setStudentClass(studentClass);
-                schedule.setCourseName(request.getCourseName());
-                schedule.setDay(request.getDay());
-                schedule.setStartTime(request.getStartTime());
-                schedule.setEndTime(request.getEndTime());
-                schedule.setLocation(request.getLocation());
-
-                if (firstSchedule == null) {
-                    firstSchedule = universityScheduleRepository.save(schedule);
-                } else {
-                    universityScheduleRepository.save(schedule);
-                }
+            List<BulkScheduleConflictDTO> conflicts = new ArrayList<>();
+            List<UniversityScheduleDTO> rows = planLessons(List.of(request), conflicts);
+            if (!conflicts.isEmpty()) {
+                throw new RuntimeException(conflicts.get(0).getMessage());
             }
-            return toDTO(firstSchedule);
+            insertAndIndex(rows);
+            return rows.get(0);
         } else {
             if (user.getStudentClass() == null) {
                 throw new RuntimeException("You must have a class assigned to add lessons");
@@ -105,11 +128,13 @@ public class UniversityScheduleService {
             UniversitySchedule schedule = new UniversitySchedule();
             schedule.setStudentClass(user.getStudentClass());
             schedule.setCourseName(request.getCourseName());
-            schedule.setDay(request.getDay());
+            schedule.setDay(day);
             schedule.setStartTime(request.getStartTime());
             schedule.setEndTime(request.getEndTime());
             schedule.setLocation(request.getLocation());
-            return toDTO(universityScheduleRepository.save(schedule));
+            UniversitySchedule saved = universityScheduleRepository.save(schedule);
+            indexAfterCommit(saved);
+            return toDTO(saved);
         }
     }
 
@@ -131,7 +156,7 @@ public class UniversityScheduleService {
             schedule.setCourseName(request.getCourseName());
         }
         if (request.getDay() != null) {
-            schedule.setDay(request.getDay());
+            schedule.setDay(WeekTime.requireDay(request.getDay()));
         }
         if (request.getStartTime() != null) {
             schedule.setStartTime(request.getStartTime());
@@ -144,13 +169,12 @@ public class UniversityScheduleService {
         }
 
         UniversitySchedule saved = universityScheduleRepository.save(schedule);
+        timetableService.touchTimetablesForSchedule(saved.getId());
+        indexAfterCommit(saved);
 
-        try {
-            String message = "Class updated: " + saved.getCourseName() + " (" + saved.getDay() + " " + saved.getStartTime() + "-" + saved.getEndTime() + ") @ " + saved.getLocation();
-            notificationService.notifyStudentClass(user, saved.getStudentClass().getId(), "CLASS_UPDATED", message);
-        } catch (Exception ignored) {
-            // best-effort notifications
-        }
+        // Stored as a broadcast in this transaction, pushed after commit
+        String message = "Class updated: " + saved.getCourseName() + " (" + WeekTime.dayName(saved.getDay()) + " " + saved.getStartTime() + "-" + saved.getEndTime() + ") @ " + saved.getLocation();
+        notificationService.notifyStudentClass(user, saved.getStudentClass().getId(), "CLASS_UPDATED", message);
 
         return toDTO(saved);
     }
@@ -166,19 +190,194 @@ public class UniversityScheduleService {
         
         Long studentClassId = schedule.getStudentClass() != null ? schedule.getStudentClass().getId() : null;
         String courseName = schedule.getCourseName();
-        String day = schedule.getDay();
+        String day = WeekTime.dayName(schedule.getDay());
         String start = schedule.getStartTime() != null ? schedule.getStartTime().toString() : "";
         String end = schedule.getEndTime() != null ? schedule.getEndTime().toString() : "";
         String location = schedule.getLocation();
 
+        timetableService.touchTimetablesForSchedule(schedule.getId());
         universityScheduleRepository.delete(schedule);
+        TransactionHooks.afterCommit(() -> {
+            conflictEngine.remove(id);
+            slotIndex.removeLesson(id);
+            searchService.removeLesson(id);
+        });
+
+        String message = "Class deleted: " + courseName + " (" + day + " " + start + "-" + end + ") @ " + location;
+        notificationService.notifyStudentClass(user, studentClassId, "CLASS_DELETED", message);
+    }
+
+    /**
+     * Creates a whole grid of lessons, each for one or more classes, all or nothing.
+     * Target classes and their existing lessons are read with one query each, overlaps (with
+     * existing lessons and within the request) are checked in memory, and the rows are written
+     * as one JDBC batch. When anything conflicts, nothing is written and every conflict is reported.
+     */
+    @Transactional
+    public BulkScheduleResponse createSchedulesBulk(List<UniversityScheduleRequest> lessons) {
+        List<BulkScheduleConflictDTO> conflicts = new ArrayList<>();
+        List<UniversityScheduleDTO> rows = planLessons(lessons, conflicts);
+        if (!conflicts.isEmpty()) {
+            conflicts.sort(Comparator.comparingInt(BulkScheduleConflictDTO::getLessonIndex));
+            return new BulkScheduleResponse(List.of(), conflicts);
+        }
+        insertAndIndex(rows);
+        return new BulkScheduleResponse(rows, List.of());
+    }
+
+    public List<TimetableConflictDTO> getConflicts(Long studentClassId, String location) {
+        if (studentClassId != null) {
+            return conflictEngine.conflictsForStudentClass(studentClassId);
+        }
+        if (location != null) {
+            return conflictEngine.conflictsForLocation(location);
+        }
+        return conflictEngine.allConflicts();
+    }
+
+    /**
+     * Expands lessons into one row per target class, collecting every problem instead of stopping
+     * at the first. Rows are only meaningful when no conflicts were added.
+     */
+    private List<UniversityScheduleDTO> planLessons(List<UniversityScheduleRequest> lessons,
+                                                    List<BulkScheduleConflictDTO> conflicts) {
+        DayOfWeek[] days = new DayOfWeek[lessons.size()];
+        Set<Long> classIds = new HashSet<>();
+        Set<DayOfWeek> affectedDays = EnumSet.noneOf(DayOfWeek.class);
+        int rowCount = 0;
+        for (int i = 0; i < lessons.size(); i++) {
+            UniversityScheduleRequest lesson = lessons.get(i);
+            String problem = validateLesson(lesson);
+            if (problem != null) {
+                conflicts.add(new BulkScheduleConflictDTO(i, null, problem));
+                continue;
+            }
+            days[i] = WeekTime.parseDay(lesson.getDay());
+            affectedDays.add(days[i]);
+            classIds.addAll(lesson.getStudentClassIds());
+            rowCount += lesson.getStudentClassIds().size();
+        }
+        if (rowCount > bulkMaxRows) {
+            throw new RuntimeException("Too many rows in one request: " + rowCount + " (max " + bulkMaxRows + ")");
+        }
+        if (classIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, StudentClass> classes = studentClassRepository.findAllById(classIds).stream()
+                .collect(Collectors.toMap(StudentClass::getId, Function.identity()));
+        // Occupied time per class; ids >= 0 are existing rows, negative ids are rows planned here
+        Map<Long, IntervalSet> busy = new HashMap<>();
+        Map<Long, UniversityScheduleDTO> occupants = new HashMap<>();
+        for (UniversityScheduleDTO existing : universityScheduleRepository.findDTOsByClassesAndDays(classIds, affectedDays)) {
+            occupy(busy, occupants, existing.getId(), existing);
+        }
+
+        List<UniversityScheduleDTO> rows = new ArrayList<>();
+        long plannedId = -1;
+        for (int i = 0; i < lessons.size(); i++) {
+            if (days[i] == null) {
+                continue;
+            }
+            UniversityScheduleRequest lesson = lessons.get(i);
+            for (Long classId : new LinkedHashSet<>(lesson.getStudentClassIds())) {
+                StudentClass studentClass = classes.get(classId);
+                if (studentClass == null) {
+                    conflicts.add(new BulkScheduleConflictDTO(i, classId, "Student class with ID " + classId + " does not exist"));
+                    continue;
+                }
+                UniversityScheduleDTO row = new UniversityScheduleDTO(null, lesson.getCourseName(), days[i],
+                        lesson.getStartTime(), lesson.getEndTime(), lesson.getLocation(), classId, studentClass.getName());
+                UniversityScheduleDTO clash = firstOverlap(busy.get(classId), occupants, row);
+                if (clash != null) {
+                    conflicts.add(new BulkScheduleConflictDTO(i, classId, "This class overlaps with " + clash.getCourseName()
+                            + " (" + clash.getDayName() + " " + clash.getStartTime() + "-" + clash.getEndTime() + ") in "
+                            + studentClass.getName() + "'s schedule"));
+                    continue;
+                }
+                occupy(busy, occupants, plannedId--, row);
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private static String validateLesson(UniversityScheduleRequest lesson) {
+        String textProblem = validateLessonText(lesson.getCourseName(), lesson.getLocation());
+        if (textProblem != null) {
+            return textProblem;
+        }
+        if (WeekTime.parseDay(lesson.getDay()) == null) {
+            return "Invalid day: " + lesson.getDay();
+        }
+        if (lesson.getStartTime() == null || lesson.getEndTime() == null
+                || !lesson.getStartTime().isBefore(lesson.getEndTime())) {
+            return "Start time must be before end time";
+        }
+        if (lesson.getStudentClassIds() == null || lesson.getStudentClassIds().isEmpty()) {
+            return "At least one Student Class ID is required";
+        }
+        return null;
+    }
+
+    /**
+     * Checks a lesson's course name and location against the university_schedule columns; shared
+     * with the CSV import. Returns the problem, or null when both are valid.
+     */
+    static String validateLessonText(String courseName, String location) {
+        if (courseName == null || courseName.isBlank()) {
+            return "Course name is required";
+        }
+        if (location == null || location.isBlank()) {
+            return "Location is required";
+        }
+        if (courseName.length() > MAX_COURSE_NAME_LENGTH) {
+            return "Course name must be at most " + MAX_COURSE_NAME_LENGTH + " characters";
+        }
+        if (location.length() > MAX_LOCATION_LENGTH) {
+            return "Location must be at most " + MAX_LOCATION_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private static void occupy(Map<Long, IntervalSet> busy, Map<Long, UniversityScheduleDTO> occupants,
+                               long id, UniversityScheduleDTO schedule) {
+        busy.computeIfAbsent(schedule.getStudentClassId(), k -> new IntervalSet()).add(id,
+                WeekTime.minuteOfWeek(schedule.getDay(), schedule.getStartTime()),
+                WeekTime.minuteOfWeek(schedule.getDay(), schedule.getEndTime()));
+        occupants.put(id, schedule);
+    }
 
-        try {
-            String message = "Class deleted: " + courseName + " (" + day + " " + start + "-" + end + ") @ " + location;
-            notificationService.notifyStudentClass(user, studentClassId, "CLASS_DELETED", message);
-        } catch (Exception ignored) {
-            // best-effort notifications
+    private static UniversityScheduleDTO firstOverlap(IntervalSet set, Map<Long, UniversityScheduleDTO> occupants,
+                                                      UniversityScheduleDTO row) {
+        if (set == null) {
+            return null;
         }
+        long[] found = {Long.MIN_VALUE};
+        set.forEachOverlapping(WeekTime.minuteOfWeek(row.getDay(), row.getStartTime()),
+                WeekTime.minuteOfWeek(row.getDay(), row.getEndTime()), id -> {
+                    if (found[0] == Long.MIN_VALUE) {
+                        found[0] = id;
+                    }
+                });
+        return found[0] == Long.MIN_VALUE ? null : occupants.get(found[0]);
+    }
+
+    private void insertAndIndex(List<UniversityScheduleDTO> rows) {
+        universityScheduleRepository.insertSchedules(rows);
+        rows.forEach(this::indexAfterCommit);
+    }
+
+    private void indexAfterCommit(UniversitySchedule schedule) {
+        indexAfterCommit(toDTO(schedule));
+    }
+
+    private void indexAfterCommit(UniversityScheduleDTO dto) {
+        TransactionHooks.afterCommit(() -> {
+            conflictEngine.upsert(dto);
+            slotIndex.upsertLesson(dto);
+            searchService.upsertLesson(dto);
+        });
     }
 
     private UniversityScheduleDTO toDTO(UniversitySchedule schedule) {
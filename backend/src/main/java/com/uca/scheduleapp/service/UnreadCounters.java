@@ -0,0 +1,142 @@
+package com.uca.scheduleapp.service;
+
+import com.uca.scheduleapp.model.BroadcastNotification;
+import com.uca.scheduleapp.model.User;
+import com.uca.scheduleapp.util.CacheRegistry;
+import com.uca.scheduleapp.util.TtlCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-memory unread notification counts, seeded from the database on first use and kept current by
+ * NotificationService after each commit. The TTL bounds how long any drift can survive.
+ *
+ * Broadcasts are not applied to each cached counter. Instead a running total is kept per audience
+ * (everyone, each student class, each gender), and a counter records the totals for its audience
+ * when seeded. Its count is the seed plus whatever its audience totals gained since, so a
+ * broadcast costs the same however many counters are cached.
+ */
+@Component
+public class UnreadCounters {
+    /**
+     * What a count is seeded from: the two unread counts plus the audience keys used to match
+     * later broadcasts.
+     */
+    public record Seed(long unread, Long studentClassId, User.Gender gender) {
+    }
+
+    // unread holds the seed plus direct changes; broadcastBase is the audience total at seeding
+    private record Counter(AtomicLong unread, Long studentClassId, User.Gender gender, long broadcastBase) {
+    }
+
+    @Autowired
+    private CacheRegistry cacheRegistry;
+
+    @Value("${notifications.unread-cache.size:10000}")
+    private int cacheSize;
+
+    @Value("${notifications.unread-cache.ttl:600000}")
+    private long cacheTtl;
+
+    private TtlCache<Long, Counter> counters;
+
+    // Bumped on every change so a seed that raced a change is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    // Broadcasts applied since startup, per audience
+    private final AtomicLong broadcastsToAll = new AtomicLong();
+    private final Map<Long, AtomicLong> broadcastsByClass = new ConcurrentHashMap<>();
+    private final Map<User.Gender, AtomicLong> broadcastsByGender = new ConcurrentHashMap<>();
+    // Held while totals change and while a seed reads them, so a cached seed and its base agree
+    private final Object broadcastLock = new Object();
+
+    @PostConstruct
+    void init() {
+        counters = cacheRegistry.create("notification-unread", cacheSize, cacheTtl);
+    }
+
+    public long get(Long userId, Supplier<Seed> loader) {
+        Counter counter = counters.get(userId);
+        if (counter != null) {
+            long broadcasts = broadcastTotal(counter.studentClassId(), counter.gender()) - counter.broadcastBase();
+            return Math.max(0, counter.unread().get() + broadcasts);
+        }
+        long before = generation.get();
+        Seed seed = loader.get();
+        synchronized (broadcastLock) {
+            // Every broadcast applied before this point committed before the seed was loaded
+            if (generation.get() == before) {
+                counters.put(userId, new Counter(new AtomicLong(seed.unread()), seed.studentClassId(), seed.gender(),
+                        broadcastTotal(seed.studentClassId(), seed.gender())));
+            }
+        }
+        return seed.unread();
+    }
+
+    public void adjust(Long userId, long delta) {
+        generation.incrementAndGet();
+        Counter counter = counters.get(userId);
+        if (counter != null) {
+            // Not clamped here: a read can cancel a broadcast that only shows in the audience total
+            counter.unread().addAndGet(delta);
+        }
+    }
+
+    public void applyBroadcast(BroadcastNotification b) {
+        synchronized (broadcastLock) {
+            generation.incrementAndGet();
+            AtomicLong total = switch (b.getTarget()) {
+                case ALL -> broadcastsToAll;
+                case STUDENT_CLASS -> b.getStudentClassId() != null
+                        ? broadcastsByClass.computeIfAbsent(b.getStudentClassId(), id -> new AtomicLong()) : null;
+                case GENDER -> b.getGender() != null
+                        ? broadcastsByGender.computeIfAbsent(b.getGender(), g -> new AtomicLong()) : null;
+            };
+            if (total != null) {
+                total.incrementAndGet();
+            }
+        }
+        // The actor is in the audience total but does not see their own broadcast
+        Long excluded = b.getExcludeUserId();
+        Counter counter = excluded != null ? counters.get(excluded) : null;
+        if (counter != null && isAudience(b, null, counter.studentClassId(), counter.gender())) {
+            counter.unread().decrementAndGet();
+        }
+    }
+
+    public void evict(Long userId) {
+        generation.incrementAndGet();
+        counters.invalidate(userId);
+    }
+
+    public void evictAll() {
+        generation.incrementAndGet();
+        counters.invalidateAll();
+    }
+
+    private long broadcastTotal(Long studentClassId, User.Gender gender) {
+        long total = broadcastsToAll.get();
+        AtomicLong byClass = studentClassId != null ? broadcastsByClass.get(studentClassId) : null;
+        AtomicLong byGender = gender != null ? broadcastsByGender.get(gender) : null;
+        return total + (byClass != null ? byClass.get() : 0) + (byGender != null ? byGender.get() : 0);
+    }
+
+    static boolean isAudience(BroadcastNotification b, Long userId, Long studentClassId, User.Gender gender) {
+        if (b.getExcludeUserId() != null && b.getExcludeUserId().equals(userId)) {
+            return false;
+        }
+        return switch (b.getTarget()) {
+            case ALL -> true;
+            case STUDENT_CLASS -> Objects.equals(b.getStudentClassId(), studentClassId);
+            case GENDER -> b.getGender() != null && b.getGender() == gender;
+        };
+    }
+}
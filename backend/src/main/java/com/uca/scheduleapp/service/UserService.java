@@ -6,14 +6,18 @@ import com.uca.scheduleapp.model.StudentClass;
 import com.uca.scheduleapp.model.User;
 import com.uca.scheduleapp.repository.StudentClassRepository;
 import com.uca.scheduleapp.repository.UserRepository;
+import com.uca.scheduleapp.repository.UserRepositoryCustom;
+import com.uca.scheduleapp.security.TokenVersionRegistry;
+import com.uca.scheduleapp.security.UserPrincipalCache;
+import com.uca.scheduleapp.util.TransactionHooks;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
-import java.util.Optional;
-import java.util.stream.Collectors;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Service
@@ -30,10 +34,34 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersions;
+
+    @Autowired
+    private TimetableService timetableService;
+
+    @Autowired
+    private AdminListings adminListings;
+
+    @Autowired
+    private SearchService searchService;
+
     public List<UserResponse> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(this::toUserResponse)
-                .collect(Collectors.toList());
+        return userRepository.findListing(new UserRepositoryCustom.Listing(null, null, null, null, "id", false));
+    }
+
+    public AdminListings.Page<UserResponse> listUsers(UserRepositoryCustom.Listing listing, String cursor, Integer limit) {
+        int size = adminListings.pageSize(limit);
+        List<UserResponse> rows = userRepository.findListingPage(listing, adminListings.decode(cursor), size + 1);
+        return adminListings.page(rows, size, "username".equals(listing.sort()) ? UserResponse::getUsername : null,
+                UserResponse::getId);
+    }
+
+    public void exportUsers(UserRepositoryCustom.Listing listing, OutputStream out) throws IOException {
+        adminListings.writeNdjson(() -> userRepository.streamListing(listing), out);
     }
 
     public UserResponse getUserById(Long id) {
@@ -64,13 +92,18 @@ public class UserService {
         user.setIsStaff(false);
         user.setIsActive(true);
 
-        return toUserResponse(userRepository.save(user));
+        UserResponse response = toUserResponse(userRepository.save(user));
+        TransactionHooks.afterCommit(() -> searchService.upsertUser(response));
+        return response;
     }
 
     @Transactional
     public UserResponse updateUser(Long id, RegisterRequest request) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
+        // Evict under the old email too, in case it is being changed
+        principalCache.evict(user);
+        TokenVersionRegistry.ClaimFields claimsBefore = tokenVersions.fingerprint(user);
 
         if (request.getEmail() != null) {
             user.setEmail(request.getEmail());
@@ -111,13 +144,20 @@ public class UserService {
             }
         }
 
+        tokenVersions.bumpIfChanged(user, claimsBefore);
         User savedUser = userRepository.save(user);
+        principalCache.evict(savedUser);
+        timetableService.evictTimetable(savedUser.getId());
+        // Class and gender decide which broadcasts are counted
+        notificationService.evictUnreadCount(savedUser.getId());
 
         if (roleChanged) {
             notificationService.notifyUser(savedUser, "ROLE_UPDATED", "Your role has been updated to: " + newRole);
         }
 
-        return toUserResponse(savedUser);
+        UserResponse response = toUserResponse(savedUser);
+        TransactionHooks.afterCommit(() -> searchService.upsertUser(response));
+        return response;
     }
 
     @Transactional
@@ -127,6 +167,10 @@ public class UserService {
         // Delete related notifications first to satisfy FK constraint
         notificationService.deleteUserNotifications(user);
         userRepository.delete(user);
+        principalCache.evict(user);
+        tokenVersions.revoke(user.getId());
+        timetableService.evictTimetable(user.getId());
+        TransactionHooks.afterCommit(() -> searchService.removeUser(id));
     }
 
     private UserResponse toUserResponse(User user) {
@@ -0,0 +1,279 @@
+package com.uca.scheduleapp.service;
+
+import com.uca.scheduleapp.dto.GymScheduleDTO;
+import com.uca.scheduleapp.dto.MealDTO;
+import com.uca.scheduleapp.dto.ScheduleSlotDTO;
+import com.uca.scheduleapp.dto.UniversityScheduleDTO;
+import com.uca.scheduleapp.model.GymSchedule;
+import com.uca.scheduleapp.model.Meal;
+import com.uca.scheduleapp.repository.GymScheduleRepository;
+import com.uca.scheduleapp.repository.MealRepository;
+import com.uca.scheduleapp.repository.UniversityScheduleRepository;
+import com.uca.scheduleapp.util.WeekTime;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What's-on lookups over lessons, meals and gym hours on the minute-of-week axis.
+ * Lessons are indexed by student class and by location, meals by student class (one interval per
+ * day, since meal times repeat daily) and gym hours by gender. Loaded on first use and updated
+ * incrementally by the schedule services after each commit.
+ */
+@Service
+public class WeeklySlotIndex {
+    private static final String LESSON = "lesson";
+    private static final String MEAL = "meal";
+    private static final String GYM = "gym";
+
+    @Autowired
+    private UniversityScheduleRepository universityScheduleRepository;
+
+    @Autowired
+    private MealRepository mealRepository;
+
+    @Autowired
+    private GymScheduleRepository gymScheduleRepository;
+
+    // Keyed by interval id: the row id for lessons and gym hours, mealId * 7 + day for meals
+    private final Map<Long, Slot> lessons = new HashMap<>();
+    private final Map<Long, Slot> meals = new HashMap<>();
+    private final Map<Long, Slot> gym = new HashMap<>();
+
+    private final Map<Long, IntervalSet> lessonsByClass = new HashMap<>();
+    private final Map<String, IntervalSet> lessonsByLocation = new HashMap<>();
+    private final Map<Long, IntervalSet> mealsByClass = new HashMap<>();
+    private final Map<String, IntervalSet> gymByGender = new HashMap<>();
+    // Normalized location -> name as first entered
+    private final Map<String, String> locationNames = new HashMap<>();
+    private final LazyLoad lazyLoad = new LazyLoad();
+
+    private record Slot(String kind, long id, String title, String location, DayOfWeek day,
+                        LocalTime startTime, LocalTime endTime) {
+        ScheduleSlotDTO toDTO(Integer minutesUntil) {
+            return new ScheduleSlotDTO(kind, id, title, WeekTime.dayName(day),
+                    startTime, endTime, location, minutesUntil);
+        }
+    }
+
+    /**
+     * Everything in progress at the given minute of the week for a student class and gender.
+     * Either may be null to leave that part out.
+     */
+    public synchronized List<ScheduleSlotDTO> now(Long studentClassId, String gender, int minute) {
+        ensureLoaded();
+        List<ScheduleSlotDTO> result = new ArrayList<>();
+        if (studentClassId != null) {
+            collectAt(lessonsByClass.get(studentClassId), lessons, minute, result);
+            collectAt(mealsByClass.get(studentClassId), meals, minute, result);
+        }
+        if (gender != null) {
+            collectAt(gymByGender.get(gender), gym, minute, result);
+        }
+        result.sort(Comparator.comparing(ScheduleSlotDTO::getStartTime));
+        return result;
+    }
+
+    /**
+     * The next slots to start after the given minute, soonest first, wrapping into next week.
+     */
+    public synchronized List<ScheduleSlotDTO> next(Long studentClassId, String gender, int minute, int limit) {
+        ensureLoaded();
+        List<ScheduleSlotDTO> result = new ArrayList<>();
+        if (studentClassId != null) {
+            collectNext(lessonsByClass.get(studentClassId), lessons, minute, limit, result);
+            collectNext(mealsByClass.get(studentClassId), meals, minute, limit, result);
+        }
+        if (gender != null) {
+            collectNext(gymByGender.get(gender), gym, minute, limit, result);
+        }
+        result.sort(Comparator.comparing(ScheduleSlotDTO::getMinutesUntil));
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * Known lesson locations with nothing booked in [start, end), sorted by name. A window past
+     * the end of the week continues into next Monday; it is capped at one week.
+     */
+    public synchronized List<String> freeRooms(int start, int end) {
+        ensureLoaded();
+        int until = Math.min(end, start + WeekTime.MINUTES_PER_WEEK);
+        int wrapped = until - WeekTime.MINUTES_PER_WEEK;
+        List<String> free = new ArrayList<>();
+        lessonsByLocation.forEach((key, set) -> {
+            if (!set.overlapsAny(start, until) && (wrapped <= 0 || !set.overlapsAny(0, wrapped))) {
+                free.add(locationNames.get(key));
+            }
+        });
+        free.sort(String.CASE_INSENSITIVE_ORDER);
+        return free;
+    }
+
+    public synchronized void upsertLesson(UniversityScheduleDTO schedule) {
+        if (!lazyLoad.isActive()) {
+            return;
+        }
+        removeLesson(schedule.getId());
+        DayOfWeek day = schedule.getDay();
+        if (day == null || !validTimes(schedule.getStartTime(), schedule.getEndTime())) {
+            return;
+        }
+        long id = schedule.getId();
+        int start = WeekTime.minuteOfWeek(day, schedule.getStartTime());
+        int end = WeekTime.minuteOfWeek(day, schedule.getEndTime());
+        lessons.put(id, new Slot(LESSON, id, schedule.getCourseName(), schedule.getLocation(), day,
+                schedule.getStartTime(), schedule.getEndTime()));
+        lessonsByClass.computeIfAbsent(schedule.getStudentClassId(), k -> new IntervalSet()).add(id, start, end);
+        String location = normalizeLocation(schedule.getLocation());
+        if (!location.isEmpty()) {
+            lessonsByLocation.computeIfAbsent(location, k -> new IntervalSet()).add(id, start, end);
+            locationNames.putIfAbsent(location, schedule.getLocation().trim());
+        }
+    }
+
+    public synchronized void removeLesson(Long scheduleId) {
+        Slot old = lessons.remove(scheduleId);
+        if (old == null) {
+            return;
+        }
+        lessonsByClass.values().forEach(set -> set.remove(scheduleId));
+        String location = normalizeLocation(old.location());
+        if (removeFrom(lessonsByLocation, location, scheduleId)) {
+            locationNames.remove(location);
+        }
+    }
+
+    public synchronized void upsertMeal(MealDTO meal) {
+        if (!lazyLoad.isActive()) {
+            return;
+        }
+        removeMeal(meal.getId());
+        if (!validTimes(meal.getTimeStart(), meal.getTimeEnd())) {
+            return;
+        }
+        IntervalSet set = mealsByClass.computeIfAbsent(meal.getStudentClassId(), k -> new IntervalSet());
+        for (DayOfWeek day : DayOfWeek.values()) {
+            long intervalId = mealIntervalId(meal.getId(), day);
+            meals.put(intervalId, new Slot(MEAL, meal.getId(), meal.getType(), null, day,
+                    meal.getTimeStart(), meal.getTimeEnd()));
+            set.add(intervalId, WeekTime.minuteOfWeek(day, meal.getTimeStart()),
+                    WeekTime.minuteOfWeek(day, meal.getTimeEnd()));
+        }
+    }
+
+    public synchronized void removeMeal(Long mealId) {
+        for (DayOfWeek day : DayOfWeek.values()) {
+            long intervalId = mealIntervalId(mealId, day);
+            if (meals.remove(intervalId) != null) {
+                mealsByClass.values().forEach(set -> set.remove(intervalId));
+            }
+        }
+    }
+
+    public synchronized void upsertGym(GymScheduleDTO schedule) {
+        if (!lazyLoad.isActive()) {
+            return;
+        }
+        removeGym(schedule.getId());
+        DayOfWeek day = schedule.getDay();
+        if (day == null || schedule.getGender() == null
+                || !validTimes(schedule.getOpenTime(), schedule.getCloseTime())) {
+            return;
+        }
+        long id = schedule.getId();
+        gym.put(id, new Slot(GYM, id, "Gym (" + schedule.getGender() + ")", null, day,
+                schedule.getOpenTime(), schedule.getCloseTime()));
+        gymByGender.computeIfAbsent(schedule.getGender(), k -> new IntervalSet())
+                .add(id, WeekTime.minuteOfWeek(day, schedule.getOpenTime()),
+                        WeekTime.minuteOfWeek(day, schedule.getCloseTime()));
+    }
+
+    public synchronized void removeGym(Long scheduleId) {
+        if (gym.remove(scheduleId) != null) {
+            gymByGender.values().forEach(set -> set.remove(scheduleId));
+        }
+    }
+
+    /**
+     * Drops the index so it reloads on next use; cheaper than upserting after a large import.
+     */
+    public synchronized void reset() {
+        lessons.clear();
+        meals.clear();
+        gym.clear();
+        lessonsByClass.clear();
+        lessonsByLocation.clear();
+        mealsByClass.clear();
+        gymByGender.clear();
+        locationNames.clear();
+        lazyLoad.reset();
+    }
+
+    private void ensureLoaded() {
+        lazyLoad.ensureLoaded(this::load, this::reset);
+    }
+
+    private void load() {
+        universityScheduleRepository.findAllAsDTO().forEach(this::upsertLesson);
+        for (Meal m : mealRepository.findAll()) {
+            upsertMeal(new MealDTO(m.getId(), m.getType().name(), m.getTimeStart(), m.getTimeEnd(), null,
+                    m.getStudentClass().getId(), null));
+        }
+        for (GymSchedule g : gymScheduleRepository.findAll()) {
+            upsertGym(new GymScheduleDTO(g.getId(), g.getGender().name(), g.getDay(), g.getOpenTime(),
+                    g.getCloseTime()));
+        }
+    }
+
+    private static void collectAt(IntervalSet set, Map<Long, Slot> slots, int minute, List<ScheduleSlotDTO> out) {
+        if (set != null) {
+            set.forEachOverlapping(minute, minute + 1, id -> out.add(slots.get(id).toDTO(null)));
+        }
+    }
+
+    private static void collectNext(IntervalSet set, Map<Long, Slot> slots, int minute, int limit,
+                                    List<ScheduleSlotDTO> out) {
+        if (set == null) {
+            return;
+        }
+        int[] taken = {0};
+        set.forEachStartingAfter(minute, (id, start, end) -> {
+            int until = Math.floorMod(start - minute, WeekTime.MINUTES_PER_WEEK);
+            out.add(slots.get(id).toDTO(until == 0 ? WeekTime.MINUTES_PER_WEEK : until));
+            return ++taken[0] < limit;
+        });
+    }
+
+    // True when the set became empty and was dropped
+    private static <K> boolean removeFrom(Map<K, IntervalSet> index, K key, long id) {
+        IntervalSet set = index.get(key);
+        if (set == null) {
+            return false;
+        }
+        set.remove(id);
+        if (set.size() == 0) {
+            index.remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    private static long mealIntervalId(long mealId, DayOfWeek day) {
+        return mealId * 7 + day.ordinal();
+    }
+
+    private static boolean validTimes(LocalTime start, LocalTime end) {
+        return start != null && end != null && start.isBefore(end);
+    }
+
+    private static String normalizeLocation(String location) {
+        return location == null ? "" : location.trim().toLowerCase();
+    }
+}
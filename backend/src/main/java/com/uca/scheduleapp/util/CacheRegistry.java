@@ -0,0 +1,41 @@
+package com.uca.scheduleapp.util;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Creates the application's in-process caches under a name so their hit, miss and size
+ * figures can be reported together.
+ */
+@Component
+public class CacheRegistry {
+    private final Map<String, TtlCache<?, ?>> caches = new ConcurrentSkipListMap<>();
+
+    public <K, V> TtlCache<K, V> create(String name, int maxSize, long ttlMillis) {
+        TtlCache<K, V> cache = new TtlCache<>(maxSize, ttlMillis);
+        if (caches.putIfAbsent(name, cache) != null) {
+            throw new IllegalStateException("Cache already registered: " + name);
+        }
+        return cache;
+    }
+
+    public <K, V> ReadThroughCache<K, V> createReadThrough(String name, int maxSize, long ttlMillis) {
+        return new ReadThroughCache<>(create(name, maxSize, ttlMillis));
+    }
+
+    public Map<String, Map<String, Long>> snapshot() {
+        Map<String, Map<String, Long>> result = new LinkedHashMap<>();
+        caches.forEach((name, cache) -> {
+            TtlCache.Stats stats = cache.stats();
+            Map<String, Long> values = new LinkedHashMap<>();
+            values.put("hits", stats.hits());
+            values.put("misses", stats.misses());
+            values.put("size", (long) stats.size());
+            result.put(name, values);
+        });
+        return result;
+    }
+}
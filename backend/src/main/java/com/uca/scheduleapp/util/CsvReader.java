@@ -0,0 +1,105 @@
+package com.uca.scheduleapp.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming CSV reader (RFC 4180): comma separated, double-quoted fields with "" escapes and
+ * quoted line breaks, LF or CRLF line endings, optional UTF-8 BOM. Holds one record at a time.
+ * Blank lines are skipped.
+ */
+public class CsvReader implements Closeable {
+    private static final int NONE = -2;
+
+    private final Reader in;
+    private int pending = NONE;
+    private boolean started;
+
+    public CsvReader(Reader in) {
+        this.in = in instanceof BufferedReader ? in : new BufferedReader(in);
+    }
+
+    /**
+     * The next record, or null at end of input.
+     */
+    public List<String> next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean empty = true;
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                if (empty) {
+                    return null;
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+            if (quoted) {
+                if (c != '"') {
+                    field.append((char) c);
+                    continue;
+                }
+                int after = read();
+                if (after == '"') {
+                    field.append('"');
+                    continue;
+                }
+                quoted = false;
+                pending = after;
+                continue;
+            }
+            switch (c) {
+                case '"' -> {
+                    quoted = true;
+                    empty = false;
+                }
+                case ',' -> {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    empty = false;
+                }
+                case '\r' -> {
+                    // Dropped; the following \n ends the record
+                }
+                case '\n' -> {
+                    if (empty) {
+                        continue;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                }
+                default -> {
+                    field.append((char) c);
+                    empty = false;
+                }
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (pending != NONE) {
+            int c = pending;
+            pending = NONE;
+            return c;
+        }
+        int c = in.read();
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') {
+                c = in.read();
+            }
+        }
+        return c;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,27 @@
+package com.uca.scheduleapp.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Fixed-size key for TEXT notification messages, so equal messages can be found through an index.
+ * Lowercase hex SHA-256, the same value MySQL's SHA2(message, 256) returns.
+ */
+public final class MessageHash {
+    private MessageHash() {
+    }
+
+    public static String of(String message) {
+        if (message == null) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(message.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.uca.scheduleapp.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * TtlCache that loads missing values itself. Invalidation bumps a generation counter, and a load
+ * that overlapped an invalidation is returned but not cached, so pre-commit data cannot be
+ * re-cached after the after-commit eviction.
+ */
+public class ReadThroughCache<K, V> {
+    private final TtlCache<K, V> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ReadThroughCache(TtlCache<K, V> cache) {
+        this.cache = cache;
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        V cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long before = generation.get();
+        V loaded = loader.get();
+        if (generation.get() == before) {
+            cache.put(key, loaded);
+        }
+        return loaded;
+    }
+
+    public void invalidate(K key) {
+        generation.incrementAndGet();
+        cache.invalidate(key);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Invalidates everything once the current transaction commits.
+     */
+    public void invalidateAllAfterCommit() {
+        TransactionHooks.afterCommit(this::invalidateAll);
+    }
+}
@@ -0,0 +1,105 @@
+package com.uca.scheduleapp.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+
+/**
+ * Small in-process LRU cache with a per-entry expiry.
+ * Entries are evicted when they expire or when the cache grows past maxSize.
+ * Hit and miss counts are kept for the metrics endpoint.
+ */
+public class TtlCache<K, V> {
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private long hits;
+    private long misses;
+
+    public record Stats(long hits, long misses, int size) {
+    }
+
+    public TtlCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > TtlCache.this.maxSize;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key);
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, Long.MAX_VALUE);
+    }
+
+    /**
+     * Stores a value that expires at the default TTL or at expiresAt, whichever comes first.
+     */
+    public synchronized void put(K key, V value, long expiresAt) {
+        if (maxSize <= 0 || value == null) {
+            return;
+        }
+        long expiry = Math.min(System.currentTimeMillis() + ttlMillis, expiresAt);
+        entries.put(key, new Entry<>(value, expiry));
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateIf(BiPredicate<K, V> predicate) {
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<K, Entry<V>> e = it.next();
+            if (predicate.test(e.getKey(), e.getValue().value)) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Visits every live entry without changing its recency. The action runs under the cache lock.
+     */
+    public synchronized void forEach(BiConsumer<K, V> action) {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<K, Entry<V>> e : entries.entrySet()) {
+            if (e.getValue().expiresAt > now) {
+                action.accept(e.getKey(), e.getValue().value);
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, entries.size());
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.uca.scheduleapp.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Minute-of-week encoding used by the in-memory schedule indexes: Monday 00:00 is 0,
+ * Sunday 23:59 is 10079.
+ */
+public final class WeekTime {
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    private static final String[] DAY_NAMES = {
+            "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"
+    };
+
+    private WeekTime() {
+    }
+
+    /**
+     * Parses a free-text day name ("Monday", " monday ") or returns null if it is not one.
+     */
+    public static DayOfWeek parseDay(String day) {
+        if (day == null) {
+            return null;
+        }
+        return switch (day.trim().toLowerCase()) {
+            case "monday" -> DayOfWeek.MONDAY;
+            case "tuesday" -> DayOfWeek.TUESDAY;
+            case "wednesday" -> DayOfWeek.WEDNESDAY;
+            case "thursday" -> DayOfWeek.THURSDAY;
+            case "friday" -> DayOfWeek.FRIDAY;
+            case "saturday" -> DayOfWeek.SATURDAY;
+            case "sunday" -> DayOfWeek.SUNDAY;
+            default -> null;
+        };
+    }
+
+    /**
+     * Like parseDay, but rejects anything that is not a day name.
+     */
+    public static DayOfWeek requireDay(String day) {
+        DayOfWeek parsed = parseDay(day);
+        if (parsed == null) {
+            throw new RuntimeException("Invalid day: " + day);
+        }
+        return parsed;
+    }
+
+    // Display form used by the API, e.g. "Monday"
+    public static String dayName(DayOfWeek day) {
+        return day == null ? null : DAY_NAMES[day.ordinal()];
+    }
+
+    public static int minuteOfWeek(DayOfWeek day, LocalTime time) {
+        return (day.getValue() - 1) * MINUTES_PER_DAY + time.getHour() * 60 + time.getMinute();
+    }
+}
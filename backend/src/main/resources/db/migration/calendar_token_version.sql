@@ -0,0 +1,4 @@
+-- Adds the per-user calendar token version that revokes calendar feed URLs. Run once against MySQL
+-- before starting the version that maps the column; existing feed URLs stay valid as version 0.
+
+ALTER TABLE users ADD COLUMN calendar_token_version INT NOT NULL DEFAULT 0;
@@ -0,0 +1,30 @@
+-- Converts university_schedule.day and gym_schedule.day from free-text names to DayOfWeek
+-- ordinals (Monday = 0 ... Sunday = 6) and adds the composite indexes used by overlap checks.
+-- Run once against MySQL before starting the version that maps day as an enum.
+-- Rows with an unrecognised day are left NULL and make the NOT NULL change fail; fix them first.
+
+ALTER TABLE university_schedule ADD COLUMN day_ordinal TINYINT NULL;
+UPDATE university_schedule SET day_ordinal = CASE LOWER(TRIM(day))
+    WHEN 'monday' THEN 0
+    WHEN 'tuesday' THEN 1
+    WHEN 'wednesday' THEN 2
+    WHEN 'thursday' THEN 3
+    WHEN 'friday' THEN 4
+    WHEN 'saturday' THEN 5
+    WHEN 'sunday' THEN 6
+END;
+ALTER TABLE university_schedule DROP COLUMN day, CHANGE COLUMN day_ordinal day TINYINT NOT NULL;
+CREATE INDEX idx_university_schedule_class_day_start ON university_schedule (student_class_id, day, start_time);
+
+ALTER TABLE gym_schedule ADD COLUMN day_ordinal TINYINT NULL;
+UPDATE gym_schedule SET day_ordinal = CASE LOWER(TRIM(day))
+    WHEN 'monday' THEN 0
+    WHEN 'tuesday' THEN 1
+    WHEN 'wednesday' THEN 2
+    WHEN 'thursday' THEN 3
+    WHEN 'friday' THEN 4
+    WHEN 'saturday' THEN 5
+    WHEN 'sunday' THEN 6
+END;
+ALTER TABLE gym_schedule DROP COLUMN day, CHANGE COLUMN day_ordinal day TINYINT NOT NULL;
+CREATE INDEX idx_gym_schedule_gender_day_open ON gym_schedule (gender, day, open_time);
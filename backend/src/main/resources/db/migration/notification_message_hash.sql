@@ -0,0 +1,12 @@
+-- Adds message_hash to notifications and broadcast_notifications and the indexes used by the
+-- nightly retention job. Run once against MySQL before starting the version that maps the column;
+-- new rows get the hash from the application, existing rows are backfilled here.
+
+ALTER TABLE notifications ADD COLUMN message_hash VARCHAR(64) NULL;
+UPDATE notifications SET message_hash = SHA2(message, 256);
+CREATE INDEX idx_notifications_user_type_hash ON notifications (user_id, type, message_hash, id);
+CREATE INDEX idx_notifications_read_created ON notifications (is_read, created_at);
+
+ALTER TABLE broadcast_notifications ADD COLUMN message_hash VARCHAR(64) NULL;
+UPDATE broadcast_notifications SET message_hash = SHA2(message, 256);
+CREATE INDEX idx_broadcast_type_hash ON broadcast_notifications (type, message_hash, id);
@@ -0,0 +1,4 @@
+-- Adds the persisted timetable change time used for the calendar ETag and Last-Modified. Run once
+-- against MySQL before starting the version that maps the column; it stays null until the next change.
+
+ALTER TABLE users ADD COLUMN timetable_updated_at DATETIME(6) NULL;
@@ -0,0 +1,65 @@
+package com.uca.scheduleapp.repository;
+
+import com.uca.scheduleapp.model.BroadcastNotification;
+import com.uca.scheduleapp.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BroadcastReceiptRepositoryTest {
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private BroadcastReceiptRepository receiptRepository;
+
+    @Autowired
+    private BroadcastNotificationRepository broadcastRepository;
+
+    private User user;
+    private final List<Long> broadcastIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("student");
+        user.setPassword("x");
+        user.setDateJoined(null);
+        em.persist(user);
+        for (int i = 0; i < 3; i++) {
+            BroadcastNotification b = new BroadcastNotification();
+            b.setTarget(BroadcastNotification.Target.ALL);
+            b.setType("INFO");
+            b.setMessage("message " + i);
+            em.persist(b);
+            broadcastIds.add(b.getId());
+        }
+        em.flush();
+    }
+
+    @Test
+    void existingReceiptsAreSkippedAndNotCounted() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(receiptRepository.insertReadReceipts(user.getId(), broadcastIds.subList(0, 2), now)).isEqualTo(2);
+        // A second read-all racing the first sees some of the same broadcasts as unread
+        assertThat(receiptRepository.insertReadReceipts(user.getId(), broadcastIds, now)).isEqualTo(1);
+        assertThat(receiptRepository.insertReadReceipts(user.getId(), broadcastIds, now)).isZero();
+
+        assertThat(receiptRepository.count()).isEqualTo(3);
+        assertThat(broadcastRepository.countUnread(user.getId())).isZero();
+    }
+}
@@ -0,0 +1,116 @@
+package com.uca.scheduleapp.repository;
+
+import com.uca.scheduleapp.model.BroadcastNotification;
+import com.uca.scheduleapp.model.Notification;
+import com.uca.scheduleapp.model.User;
+import com.uca.scheduleapp.util.MessageHash;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class NotificationRepositoryTest {
+    private static final List<String> TYPES = List.of("CLASS_UPDATED");
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private BroadcastNotificationRepository broadcastRepository;
+
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        alice = user("alice");
+        bob = user("bob");
+    }
+
+    @Test
+    void supersededDirectRowsArePagedByIdKeyset() {
+        Notification a1 = direct(alice, "CLASS_UPDATED", "Math moved", true);
+        Notification a2 = direct(alice, "CLASS_UPDATED", "Math moved", false);
+        direct(alice, "CLASS_UPDATED", "Math moved", false);
+        direct(alice, "CLASS_UPDATED", "Physics moved", false);
+        direct(bob, "CLASS_UPDATED", "Math moved", false);
+        direct(alice, "INFO", "Math moved", false);
+        direct(alice, "INFO", "Math moved", false);
+        em.flush();
+
+        assertThat(a1.getMessageHash()).isEqualTo(MessageHash.of("Math moved"));
+        assertThat(notificationRepository.findSupersededIds(TYPES, 0L, PageRequest.of(0, 1)))
+                .containsExactly(a1.getId());
+        assertThat(notificationRepository.findSupersededIds(TYPES, a1.getId(), PageRequest.of(0, 10)))
+                .containsExactly(a2.getId());
+        assertThat(notificationRepository.findSupersededIds(TYPES, a2.getId(), PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    void readRowsBeforeCutoffArePagedByIdKeyset() {
+        Notification old1 = direct(alice, "INFO", "one", true);
+        Notification old2 = direct(bob, "INFO", "two", true);
+        direct(alice, "INFO", "unread", false);
+        em.flush();
+        LocalDateTime cutoff = LocalDateTime.now().plusMinutes(1);
+
+        assertThat(notificationRepository.findReadIdsBefore(cutoff, 0L, PageRequest.of(0, 1)))
+                .containsExactly(old1.getId());
+        assertThat(notificationRepository.findReadIdsBefore(cutoff, old1.getId(), PageRequest.of(0, 10)))
+                .containsExactly(old2.getId());
+    }
+
+    @Test
+    void supersededBroadcastsMatchOnlyTheSameAudience() {
+        BroadcastNotification class1 = broadcast(BroadcastNotification.Target.STUDENT_CLASS, 1L, "Math moved");
+        BroadcastNotification class2 = broadcast(BroadcastNotification.Target.STUDENT_CLASS, 2L, "Math moved");
+        BroadcastNotification class1Again = broadcast(BroadcastNotification.Target.STUDENT_CLASS, 1L, "Math moved");
+        broadcast(BroadcastNotification.Target.STUDENT_CLASS, 2L, "Math moved again");
+        em.flush();
+
+        assertThat(broadcastRepository.findSupersededIds(TYPES, 0L, PageRequest.of(0, 10)))
+                .containsExactly(class1.getId());
+        assertThat(broadcastRepository.findSupersededIds(TYPES, class1.getId(), PageRequest.of(0, 10))).isEmpty();
+        assertThat(class2.getMessageHash()).isEqualTo(class1Again.getMessageHash());
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setUsername(name);
+        user.setPassword("x");
+        return em.persist(user);
+    }
+
+    private Notification direct(User user, String type, String message, boolean read) {
+        Notification n = new Notification();
+        n.setUser(user);
+        n.setType(type);
+        n.setMessage(message);
+        n.setIsRead(read);
+        return em.persist(n);
+    }
+
+    private BroadcastNotification broadcast(BroadcastNotification.Target target, Long studentClassId, String message) {
+        BroadcastNotification b = new BroadcastNotification();
+        b.setTarget(target);
+        b.setStudentClassId(studentClassId);
+        b.setType("CLASS_UPDATED");
+        b.setMessage(message);
+        return em.persist(b);
+    }
+}
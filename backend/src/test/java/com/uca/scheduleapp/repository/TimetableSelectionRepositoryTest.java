@@ -0,0 +1,99 @@
+package com.uca.scheduleapp.repository;
+
+import com.uca.scheduleapp.dto.UniversityScheduleDTO;
+import com.uca.scheduleapp.model.StudentClass;
+import com.uca.scheduleapp.model.TimetableSelection;
+import com.uca.scheduleapp.model.UniversitySchedule;
+import com.uca.scheduleapp.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TimetableSelectionRepositoryTest {
+    private static final int CLASSES = 3;
+    private static final int LESSONS_PER_CLASS = 4;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Autowired
+    private TimetableSelectionRepository timetableSelectionRepository;
+
+    private User user;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("student");
+        user.setPassword("x");
+        user.setEmail("student@example.com");
+        em.persist(user);
+
+        DayOfWeek[] days = DayOfWeek.values();
+        for (int c = 0; c < CLASSES; c++) {
+            StudentClass studentClass = new StudentClass(null, "Class-" + c, StudentClass.YearLevel.Freshman);
+            em.persist(studentClass);
+            for (int l = 0; l < LESSONS_PER_CLASS; l++) {
+                UniversitySchedule schedule = new UniversitySchedule();
+                schedule.setStudentClass(studentClass);
+                schedule.setCourseName("Course " + c + "-" + l);
+                schedule.setDay(days[l % 5]);
+                schedule.setStartTime(LocalTime.of(9 + c, 0));
+                schedule.setEndTime(LocalTime.of(9 + c, 50));
+                schedule.setLocation("Room " + l);
+                em.persist(schedule);
+
+                TimetableSelection selection = new TimetableSelection();
+                selection.setUser(user);
+                selection.setSchedule(schedule);
+                em.persist(selection);
+            }
+        }
+        em.flush();
+        em.clear();
+
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findScheduleDTOsByUserIdIssuesOneSelect() {
+        List<UniversityScheduleDTO> rows = timetableSelectionRepository.findScheduleDTOsByUserId(user.getId());
+
+        assertThat(rows).hasSize(CLASSES * LESSONS_PER_CLASS);
+        assertThat(rows).allSatisfy(row -> {
+            assertThat(row.getStudentClassName()).startsWith("Class-");
+            assertThat(row.getDay()).isNotNull();
+        });
+        assertThat(rows.stream().map(UniversityScheduleDTO::getStudentClassId).distinct())
+                .doesNotContainNull().hasSize(CLASSES);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void findScheduleDTOsByUserIdReturnsNothingForOtherUsers() {
+        assertThat(timetableSelectionRepository.findScheduleDTOsByUserId(user.getId() + 1)).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
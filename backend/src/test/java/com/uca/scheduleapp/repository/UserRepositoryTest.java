@@ -0,0 +1,45 @@
+package com.uca.scheduleapp.repository;
+
+import com.uca.scheduleapp.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class UserRepositoryTest {
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void timetableChangeSurvivesSavingAStaleUser() {
+        User user = new User();
+        user.setUsername("student");
+        user.setPassword("x");
+        em.persist(user);
+        em.flush();
+        assertThat(userRepository.findTimetableUpdatedAt(user.getId())).isEmpty();
+
+        LocalDateTime changedAt = LocalDateTime.of(2026, 3, 2, 9, 30, 15);
+        assertThat(userRepository.touchTimetables(List.of(user.getId()), changedAt)).isEqualTo(1);
+
+        // The managed instance still holds the value from before the bulk update
+        user.setEmail("student@example.com");
+        userRepository.saveAndFlush(user);
+        em.clear();
+
+        assertThat(userRepository.findTimetableUpdatedAt(user.getId())).contains(changedAt);
+    }
+}
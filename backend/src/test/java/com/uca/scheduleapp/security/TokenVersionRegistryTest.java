@@ -0,0 +1,91 @@
+package com.uca.scheduleapp.security;
+
+import com.uca.scheduleapp.model.User;
+import com.uca.scheduleapp.repository.UserRepository;
+import com.uca.scheduleapp.util.CacheRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JwtUtil.class, CacheRegistry.class})
+@TestPropertySource(properties = "jwt.fat-claims=true")
+class TokenVersionRegistryTest {
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void fatTokenOfDeletedUserIsRejectedAfterRestart() {
+        User user = persistUser("student@example.com");
+        User principal = jwtUtil.extractPrincipal(jwtUtil.generateToken(user));
+        assertThat(newRegistry().isCurrent(principal.getId(), principal.getTokenVersion())).isTrue();
+
+        userRepository.delete(user);
+        em.flush();
+
+        // A fresh registry stands in for a restarted or second instance that never saw the delete
+        assertThat(newRegistry().isCurrent(principal.getId(), principal.getTokenVersion())).isFalse();
+    }
+
+    @Test
+    void bumpedVersionIsSeenByAnotherInstance() {
+        User user = persistUser("student@example.com");
+        User principal = jwtUtil.extractPrincipal(jwtUtil.generateToken(user));
+
+        TokenVersionRegistry registry = newRegistry();
+        TokenVersionRegistry.ClaimFields before = registry.fingerprint(user);
+        user.setUsername("renamed");
+        registry.bumpIfChanged(user, before);
+        em.flush();
+
+        assertThat(newRegistry().isCurrent(principal.getId(), principal.getTokenVersion())).isFalse();
+        assertThat(newRegistry().isCurrent(user.getId(), user.getTokenVersion())).isTrue();
+    }
+
+    @Test
+    void unknownAndDeactivatedUsersAreNotCurrent() {
+        User user = persistUser("student@example.com");
+        user.setIsActive(false);
+        em.flush();
+
+        TokenVersionRegistry registry = newRegistry();
+        assertThat(registry.isCurrent(user.getId(), 0)).isFalse();
+        assertThat(registry.isCurrent(user.getId() + 1000, 0)).isFalse();
+    }
+
+    private User persistUser(String email) {
+        User user = new User();
+        user.setUsername("student");
+        user.setEmail(email);
+        user.setPassword("x");
+        em.persist(user);
+        em.flush();
+        return user;
+    }
+
+    private TokenVersionRegistry newRegistry() {
+        TokenVersionRegistry registry = new TokenVersionRegistry();
+        ReflectionTestUtils.setField(registry, "userRepository", userRepository);
+        ReflectionTestUtils.setField(registry, "cacheRegistry", new CacheRegistry());
+        ReflectionTestUtils.setField(registry, "cacheSize", 100);
+        ReflectionTestUtils.setField(registry, "cacheTtl", 30000L);
+        registry.init();
+        return registry;
+    }
+}
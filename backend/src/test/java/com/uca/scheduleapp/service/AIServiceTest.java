@@ -0,0 +1,125 @@
+package com.uca.scheduleapp.service;
+
+import com.sun.net.httpserver.HttpServer;
+import com.uca.scheduleapp.dto.TimetableResponse;
+import com.uca.scheduleapp.dto.UniversityScheduleDTO;
+import com.uca.scheduleapp.model.User;
+import com.uca.scheduleapp.util.CacheRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AIServiceTest {
+    @Mock
+    private TimetableService timetableService;
+
+    private HttpServer stub;
+    private final AtomicInteger calls = new AtomicInteger();
+    private volatile int status = 200;
+
+    private AIService aiService;
+    private final User user = new User();
+    private final List<UniversityScheduleDTO> entries = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.createContext("/v1/chat/completions", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            int n = calls.incrementAndGet();
+            byte[] body = (status == 200
+                    ? "{\"choices\":[{\"message\":{\"content\":\"answer " + n + "\"}}]}"
+                    : "{\"error\":\"upstream\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stub.start();
+
+        aiService = new AIService();
+        ReflectionTestUtils.setField(aiService, "timetableService", timetableService);
+        ReflectionTestUtils.setField(aiService, "cacheRegistry", new CacheRegistry());
+        ReflectionTestUtils.setField(aiService, "restTemplateBuilder", new RestTemplateBuilder());
+        ReflectionTestUtils.setField(aiService, "apiKey", "test");
+        ReflectionTestUtils.setField(aiService, "apiUrl",
+                "http://127.0.0.1:" + stub.getAddress().getPort() + "/v1/chat/completions");
+        ReflectionTestUtils.setField(aiService, "model", "test-model");
+        ReflectionTestUtils.setField(aiService, "cacheSize", 100);
+        ReflectionTestUtils.setField(aiService, "cacheTtl", 60000L);
+        aiService.init();
+
+        user.setId(1L);
+        entries.add(lesson(1L, "Math", 9));
+        when(timetableService.getMyTimetable(any())).thenAnswer(inv ->
+                new TimetableResponse(new ArrayList<>(entries), List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.stop(0);
+    }
+
+    @Test
+    void repeatedOrRespacedQuestionIsServedFromCache() {
+        String first = aiService.chat(user, "When is my next class?");
+        String again = aiService.chat(user, "When is my next class?");
+        String respaced = aiService.chat(user, "  when is   my NEXT class ");
+
+        assertThat(first).isEqualTo("answer 1");
+        assertThat(again).isEqualTo(first);
+        assertThat(respaced).isEqualTo(first);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void upstreamFailureIsNotCached() {
+        status = 500;
+        String failed = aiService.chat(user, "Where is Math?");
+        assertThat(failed).startsWith("Sorry");
+        assertThat(calls).hasValue(1);
+
+        status = 200;
+        assertThat(aiService.chat(user, "Where is Math?")).isEqualTo("answer 2");
+        assertThat(aiService.chat(user, "Where is Math?")).isEqualTo("answer 2");
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void timetableChangeCausesExactlyOneNewCall() {
+        aiService.chat(user, "What do I have on Monday?");
+        aiService.chat(user, "What do I have on Monday?");
+        assertThat(calls).hasValue(1);
+
+        entries.add(lesson(2L, "Physics", 11));
+        assertThat(aiService.chat(user, "What do I have on Monday?")).isEqualTo("answer 2");
+        assertThat(aiService.chat(user, "What do I have on Monday?")).isEqualTo("answer 2");
+        assertThat(calls).hasValue(2);
+    }
+
+    private static UniversityScheduleDTO lesson(Long id, String course, int hour) {
+        return new UniversityScheduleDTO(id, course, DayOfWeek.MONDAY, LocalTime.of(hour, 0),
+                LocalTime.of(hour, 50), "A-101", 7L, "CS-1");
+    }
+}
@@ -0,0 +1,116 @@
+package com.uca.scheduleapp.service;
+
+import com.uca.scheduleapp.util.WeekTime;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntervalSetTest {
+    @Test
+    void forEachStartingAfterWrapsFromSundayNightIntoNextWeek() {
+        IntervalSet set = new IntervalSet();
+        set.add(1, minute(DayOfWeek.MONDAY, 9, 0), minute(DayOfWeek.MONDAY, 10, 0));
+        set.add(2, minute(DayOfWeek.WEDNESDAY, 9, 0), minute(DayOfWeek.WEDNESDAY, 10, 0));
+        set.add(3, minute(DayOfWeek.SUNDAY, 22, 0), minute(DayOfWeek.SUNDAY, 23, 0));
+
+        List<Long> visited = new ArrayList<>();
+        set.forEachStartingAfter(minute(DayOfWeek.SUNDAY, 23, 30), (id, start, end) -> visited.add(id));
+
+        assertThat(visited).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void forEachStartingAfterSkipsAnIntervalStartingAtThePointUntilTheEnd() {
+        IntervalSet set = new IntervalSet();
+        set.add(1, 100, 150);
+        set.add(2, 200, 250);
+
+        List<Long> visited = new ArrayList<>();
+        set.forEachStartingAfter(100, (id, start, end) -> visited.add(id));
+
+        assertThat(visited).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void forEachStartingAfterStopsWhenTheVisitorSaysSo() {
+        IntervalSet set = new IntervalSet();
+        for (int i = 0; i < 5; i++) {
+            set.add(i, i * 100, i * 100 + 50);
+        }
+
+        List<Long> visited = new ArrayList<>();
+        set.forEachStartingAfter(150, (id, start, end) -> visited.add(id) && visited.size() < 2);
+
+        assertThat(visited).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void removeWithEqualStartsOnlyRemovesThatId() {
+        IntervalSet set = new IntervalSet();
+        set.add(1, 100, 150);
+        set.add(2, 100, 200);
+        set.add(3, 100, 120);
+
+        assertThat(set.remove(2)).isTrue();
+        assertThat(set.remove(2)).isFalse();
+
+        assertThat(set.size()).isEqualTo(2);
+        assertThat(overlapping(set, 160, 170)).isEmpty();
+        assertThat(overlapping(set, 100, 101)).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    void addingAnExistingIdMovesIt() {
+        IntervalSet set = new IntervalSet();
+        set.add(1, 100, 150);
+        set.add(1, 300, 350);
+
+        assertThat(set.size()).isEqualTo(1);
+        assertThat(set.overlapsAny(100, 150)).isFalse();
+        assertThat(overlapping(set, 320, 330)).containsExactly(1L);
+    }
+
+    @Test
+    void forEachOverlappingPairReportsEqualStartsOnceAndSkipsTouchingIntervals() {
+        IntervalSet set = new IntervalSet();
+        set.add(1, 100, 150);
+        set.add(2, 100, 150);
+        set.add(3, 100, 120);
+        // Starts exactly when 3 ends, so overlaps 1 and 2 only
+        set.add(4, 120, 130);
+        // Starts when everything else has ended
+        set.add(5, 150, 200);
+
+        List<String> pairs = new ArrayList<>();
+        set.forEachOverlappingPair((a, b) -> pairs.add(Math.min(a, b) + "-" + Math.max(a, b)));
+
+        assertThat(pairs).containsExactlyInAnyOrder("1-2", "1-3", "2-3", "1-4", "2-4");
+    }
+
+    @Test
+    void forEachOverlappingFindsLongIntervalsStartingWellBeforeTheQuery() {
+        IntervalSet set = new IntervalSet();
+        set.add(1, 0, 1000);
+        for (int i = 2; i < 50; i++) {
+            set.add(i, i * 10, i * 10 + 5);
+        }
+
+        assertThat(overlapping(set, 900, 901)).containsExactly(1L);
+        assertThat(set.overlapsAny(1000, 1100)).isFalse();
+    }
+
+    private static List<Long> overlapping(IntervalSet set, int start, int end) {
+        List<Long> ids = new ArrayList<>();
+        set.forEachOverlapping(start, end, ids::add);
+        return ids;
+    }
+
+    private static int minute(DayOfWeek day, int hour, int minute) {
+        return WeekTime.minuteOfWeek(day, LocalTime.of(hour, minute));
+    }
+}
@@ -0,0 +1,96 @@
+package com.uca.scheduleapp.service;
+
+import com.uca.scheduleapp.dto.TimetableConflictDTO;
+import com.uca.scheduleapp.dto.UniversityScheduleDTO;
+import com.uca.scheduleapp.repository.UniversityScheduleRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleConflictEngineTest {
+    @Mock
+    private UniversityScheduleRepository universityScheduleRepository;
+
+    @InjectMocks
+    private ScheduleConflictEngine engine;
+
+    @Test
+    void failedLoadIsRetriedOnNextUse() {
+        when(universityScheduleRepository.findAllAsDTO())
+                .thenThrow(new RuntimeException("connection refused"))
+                .thenReturn(List.of(
+                        lesson(1L, "Math", 9, "A-101"),
+                        lesson(2L, "Physics", 9, "A-101")));
+
+        assertThatThrownBy(() -> engine.allConflicts()).hasMessage("connection refused");
+
+        assertThat(engine.conflictsForStudentClass(7L)).hasSize(1);
+        assertThat(engine.conflictsForLocation("a-101")).hasSize(1);
+        verify(universityScheduleRepository, times(2)).findAllAsDTO();
+    }
+
+    @Test
+    void updatesBeforeFirstLoadAreLeftToTheLoader() {
+        when(universityScheduleRepository.findAllAsDTO()).thenReturn(List.of(lesson(1L, "Math", 9, "A-101")));
+
+        engine.upsert(lesson(2L, "Physics", 9, "B-202"));
+
+        assertThat(engine.conflictsForStudentClass(7L)).isEmpty();
+    }
+
+    @Test
+    void roomDoubleBookingWithEqualStartsAcrossClasses() {
+        when(universityScheduleRepository.findAllAsDTO()).thenReturn(List.of(
+                lesson(1L, "Math", 9, "A-101", 7L),
+                lesson(2L, "Physics", 9, "a-101 ", 8L),
+                // Starts exactly when the others end
+                new UniversityScheduleDTO(3L, "Chemistry", DayOfWeek.MONDAY, LocalTime.of(9, 50),
+                        LocalTime.of(10, 40), "A-101", 7L, "CS-1")));
+
+        assertThat(engine.conflictsForLocation("A-101"))
+                .extracting(TimetableConflictDTO::getFirstScheduleId, TimetableConflictDTO::getSecondScheduleId)
+                .containsExactly(tuple(1L, 2L));
+        assertThat(engine.conflictsForStudentClass(7L)).isEmpty();
+        assertThat(engine.conflictsForStudentClass(8L)).isEmpty();
+    }
+
+    @Test
+    void movingOrRemovingALessonClearsItsConflicts() {
+        when(universityScheduleRepository.findAllAsDTO()).thenReturn(List.of(
+                lesson(1L, "Math", 9, "A-101"),
+                lesson(2L, "Physics", 9, "B-202"),
+                lesson(3L, "Chemistry", 9, "C-303")));
+        assertThat(engine.conflictsForStudentClass(7L)).hasSize(3);
+
+        engine.upsert(lesson(2L, "Physics", 11, "B-202"));
+        assertThat(engine.conflictsForStudentClass(7L))
+                .extracting(TimetableConflictDTO::getFirstScheduleId, TimetableConflictDTO::getSecondScheduleId)
+                .containsExactly(tuple(1L, 3L));
+
+        engine.remove(3L);
+        assertThat(engine.allConflicts()).isEmpty();
+    }
+
+    private static UniversityScheduleDTO lesson(Long id, String course, int hour, String location) {
+        return lesson(id, course, hour, location, 7L);
+    }
+
+    private static UniversityScheduleDTO lesson(Long id, String course, int hour, String location, Long classId) {
+        return new UniversityScheduleDTO(id, course, DayOfWeek.MONDAY, LocalTime.of(hour, 0),
+                LocalTime.of(hour, 50), location, classId, "CS-" + classId);
+    }
+}
@@ -0,0 +1,98 @@
+package com.uca.scheduleapp.service;
+
+import com.uca.scheduleapp.dto.ImportProblemDTO;
+import com.uca.scheduleapp.dto.ImportReportDTO;
+import com.uca.scheduleapp.dto.UniversityScheduleDTO;
+import com.uca.scheduleapp.model.StudentClass;
+import com.uca.scheduleapp.repository.GymScheduleRepository;
+import com.uca.scheduleapp.repository.StudentClassRepository;
+import com.uca.scheduleapp.repository.UniversityScheduleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleImportServiceTest {
+    private static final String HEADER = "kind,student_class,course_name,location,day,start_time,end_time\n";
+
+    @Mock
+    private StudentClassRepository studentClassRepository;
+
+    @Mock
+    private UniversityScheduleRepository universityScheduleRepository;
+
+    @Mock
+    private GymScheduleRepository gymScheduleRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ScheduleImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(importService, "batchSize", 500);
+        ReflectionTestUtils.setField(importService, "maxProblems", 200);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        importService.init();
+        when(studentClassRepository.findAll()).thenReturn(List.of(
+                new StudentClass(1L, "CS-1", StudentClass.YearLevel.Freshman),
+                new StudentClass(2L, "CS-2", StudentClass.YearLevel.Freshman)));
+        when(gymScheduleRepository.findAll()).thenReturn(List.of());
+    }
+
+    @Test
+    void reportsRoomDoubleBookingsAgainstExistingLessonsAndWithinTheFile() {
+        when(universityScheduleRepository.findAllAsDTO()).thenReturn(List.of(new UniversityScheduleDTO(10L, "Math",
+                DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(9, 50), "A-101", 1L, "CS-1")));
+
+        ImportReportDTO report = dryRun(HEADER
+                + "lesson,CS-2,Physics,a-101 ,Monday,9:30,10:20\n"
+                + "lesson,CS-2,Chemistry,B-202,Tuesday,9:00,9:50\n"
+                + "lesson,CS-1,Biology,B-202,Tuesday,9:30,10:20\n"
+                // Touches Chemistry, and the rejected Biology row did not book the room
+                + "lesson,CS-2,History,B-202,Tuesday,9:50,10:40\n");
+
+        assertThat(report.getProblems()).extracting(ImportProblemDTO::getRow, ImportProblemDTO::getMessage)
+                .containsExactly(
+                        tuple(2, "Room a-101 is already booked for Math (Monday 09:00-09:50)"),
+                        tuple(4, "Room B-202 is already booked for Chemistry (Tuesday 09:00-09:50) from row 3"));
+    }
+
+    @Test
+    void lessonSharedByClassesBooksItsRoomOnce() {
+        when(universityScheduleRepository.findAllAsDTO()).thenReturn(List.of());
+
+        ImportReportDTO report = dryRun(HEADER
+                + "lesson,CS-1;CS-2,Lecture,Hall,Wednesday,10:00,11:30\n"
+                + "lesson,CS-1,Lab,Hall,Wednesday,11:00,12:00\n");
+
+        assertThat(report.getLessons()).isEqualTo(2);
+        assertThat(report.getProblems()).extracting(ImportProblemDTO::getRow, ImportProblemDTO::getMessage)
+                .containsExactly(
+                        tuple(3, "Room Hall is already booked for Lecture (Wednesday 10:00-11:30) from row 2"),
+                        tuple(3, "Overlaps Lecture (Wednesday 10:00-11:30) from row 2 in CS-1's schedule"));
+    }
+
+    private ImportReportDTO dryRun(String csv) {
+        return importService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), true);
+    }
+}
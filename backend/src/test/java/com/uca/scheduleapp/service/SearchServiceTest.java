@@ -0,0 +1,112 @@
+package com.uca.scheduleapp.service;
+
+import com.uca.scheduleapp.dto.CourseDTO;
+import com.uca.scheduleapp.dto.SearchResultDTO;
+import com.uca.scheduleapp.dto.UniversityScheduleDTO;
+import com.uca.scheduleapp.dto.UserResponse;
+import com.uca.scheduleapp.model.Course;
+import com.uca.scheduleapp.repository.CourseRepository;
+import com.uca.scheduleapp.repository.UniversityScheduleRepository;
+import com.uca.scheduleapp.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SearchServiceTest {
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private UniversityScheduleRepository universityScheduleRepository;
+
+    @InjectMocks
+    private SearchService searchService;
+
+    @Test
+    void ranksExactThenPrefixThenWordThenInsideAWord() {
+        load(List.of(), List.of(
+                course(1L, "Aftermath Studies"),
+                course(2L, "Applied Math"),
+                course(3L, "Mathematics"),
+                course(4L, "Math")), List.of());
+
+        List<SearchResultDTO> results = searchService.search("math", null, 10);
+
+        assertThat(results).extracting(SearchResultDTO::getTitle)
+                .containsExactly("Math", "Mathematics", "Applied Math", "Aftermath Studies");
+        assertThat(results).extracting(SearchResultDTO::getScore)
+                .isSortedAccordingTo((a, b) -> Double.compare(b, a))
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    void shorterFieldsRankFirstWithinATier() {
+        load(List.of(), List.of(
+                course(1L, "Mathematical Logic and Set Theory"),
+                course(2L, "Mathematics")), List.of());
+
+        assertThat(searchService.search("mat", null, 10)).extracting(SearchResultDTO::getTitle)
+                .containsExactly("Mathematics", "Mathematical Logic and Set Theory");
+    }
+
+    @Test
+    void titleMatchesOutrankOtherFields() {
+        load(List.of(
+                user(1L, "zarina", "anna.b@uca.edu"),
+                user(2L, "anna", "a.smith@uca.edu")), List.of(), List.of());
+
+        assertThat(searchService.search("anna", SearchService.USER, 10)).extracting(SearchResultDTO::getId)
+                .containsExactly(2L, 1L);
+    }
+
+    @Test
+    void misspellingsMatchBelowSubstringHits() {
+        load(List.of(), List.of(course(1L, "Physics")), List.of(new UniversityScheduleDTO(2L, "Biophysics",
+                DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(9, 50), "A-101", 7L, "CS-1")));
+
+        assertThat(searchService.search("phisics", null, 10)).extracting(SearchResultDTO::getTitle)
+                .containsExactly("Physics");
+        assertThat(searchService.search("physics", null, 10)).extracting(SearchResultDTO::getKind)
+                .containsExactly(SearchService.COURSE, SearchService.LESSON);
+    }
+
+    @Test
+    void updatesAfterLoadAreSearchable() {
+        load(List.of(), List.of(course(1L, "Physics")), List.of());
+        searchService.search("warm", null, 10);
+
+        searchService.upsertCourse(new CourseDTO(1L, "Astronomy", "Freshman"));
+        searchService.upsertCourse(new CourseDTO(2L, "Physics II", "Sophomore"));
+
+        assertThat(searchService.search("astro", null, 10)).extracting(SearchResultDTO::getId).containsExactly(1L);
+        assertThat(searchService.search("physics", null, 10)).extracting(SearchResultDTO::getId).containsExactly(2L);
+    }
+
+    private void load(List<UserResponse> users, List<Course> courses, List<UniversityScheduleDTO> lessons) {
+        when(userRepository.findListing(any())).thenReturn(users);
+        when(courseRepository.findAll()).thenReturn(courses);
+        when(universityScheduleRepository.findAllAsDTO()).thenReturn(lessons);
+    }
+
+    private static Course course(Long id, String name) {
+        return new Course(id, name, Course.YearLevel.Freshman);
+    }
+
+    private static UserResponse user(Long id, String username, String email) {
+        return new UserResponse(id, username, email, "Female", 7L, "CS-1", "Freshman", false);
+    }
+}
@@ -0,0 +1,88 @@
+package com.uca.scheduleapp.service;
+
+import com.uca.scheduleapp.model.BroadcastNotification;
+import com.uca.scheduleapp.model.User;
+import com.uca.scheduleapp.util.CacheRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UnreadCountersTest {
+    private UnreadCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new UnreadCounters();
+        ReflectionTestUtils.setField(counters, "cacheRegistry", new CacheRegistry());
+        ReflectionTestUtils.setField(counters, "cacheSize", 100);
+        ReflectionTestUtils.setField(counters, "cacheTtl", 60000L);
+        counters.init();
+    }
+
+    @Test
+    void broadcastsCountOnlyForTheirAudience() {
+        seed(1L, 2, 10L, User.Gender.Male);
+        seed(2L, 0, 20L, User.Gender.Female);
+
+        counters.applyBroadcast(broadcast(BroadcastNotification.Target.ALL, null, null, null));
+        counters.applyBroadcast(broadcast(BroadcastNotification.Target.STUDENT_CLASS, 10L, null, null));
+        counters.applyBroadcast(broadcast(BroadcastNotification.Target.GENDER, null, User.Gender.Female, null));
+
+        assertThat(cached(1L)).isEqualTo(4);
+        assertThat(cached(2L)).isEqualTo(2);
+    }
+
+    @Test
+    void actorDoesNotCountTheirOwnBroadcast() {
+        seed(1L, 0, 10L, null);
+        seed(2L, 0, 10L, null);
+
+        counters.applyBroadcast(broadcast(BroadcastNotification.Target.STUDENT_CLASS, 10L, null, 1L));
+
+        assertThat(cached(1L)).isZero();
+        assertThat(cached(2L)).isEqualTo(1);
+    }
+
+    @Test
+    void readingABroadcastCancelsIt() {
+        seed(1L, 0, null, null);
+        counters.applyBroadcast(broadcast(BroadcastNotification.Target.ALL, null, null, null));
+
+        counters.adjust(1L, -1);
+        assertThat(cached(1L)).isZero();
+
+        counters.applyBroadcast(broadcast(BroadcastNotification.Target.ALL, null, null, null));
+        assertThat(cached(1L)).isEqualTo(1);
+    }
+
+    @Test
+    void seedTakenAfterABroadcastDoesNotCountItAgain() {
+        counters.applyBroadcast(broadcast(BroadcastNotification.Target.ALL, null, null, null));
+        // The database count already includes the committed broadcast
+        seed(1L, 1, null, null);
+
+        assertThat(cached(1L)).isEqualTo(1);
+    }
+
+    private void seed(Long userId, long unread, Long studentClassId, User.Gender gender) {
+        counters.get(userId, () -> new UnreadCounters.Seed(unread, studentClassId, gender));
+    }
+
+    private long cached(Long userId) {
+        return counters.get(userId, () -> {
+            throw new AssertionError("count for user " + userId + " was not cached");
+        });
+    }
+
+    private static BroadcastNotification broadcast(BroadcastNotification.Target target, Long studentClassId,
+                                                   User.Gender gender, Long excludeUserId) {
+        BroadcastNotification b = new BroadcastNotification();
+        b.setTarget(target);
+        b.setStudentClassId(studentClassId);
+        b.setGender(gender);
+        b.setExcludeUserId(excludeUserId);
+        return b;
+    }
+}
@@ -0,0 +1,129 @@
+package com.uca.scheduleapp.service;
+
+import com.uca.scheduleapp.dto.ScheduleSlotDTO;
+import com.uca.scheduleapp.dto.UniversityScheduleDTO;
+import com.uca.scheduleapp.model.GymSchedule;
+import com.uca.scheduleapp.model.Meal;
+import com.uca.scheduleapp.model.StudentClass;
+import com.uca.scheduleapp.repository.GymScheduleRepository;
+import com.uca.scheduleapp.repository.MealRepository;
+import com.uca.scheduleapp.repository.UniversityScheduleRepository;
+import com.uca.scheduleapp.util.WeekTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WeeklySlotIndexTest {
+    private static final StudentClass CS_1 = new StudentClass(7L, "CS-1", StudentClass.YearLevel.Freshman);
+
+    @Mock
+    private UniversityScheduleRepository universityScheduleRepository;
+
+    @Mock
+    private MealRepository mealRepository;
+
+    @Mock
+    private GymScheduleRepository gymScheduleRepository;
+
+    @InjectMocks
+    private WeeklySlotIndex index;
+
+    @Test
+    void nextWrapsFromSundayNightIntoNextWeek() {
+        load(List.of(
+                lesson(1L, "Math", DayOfWeek.MONDAY, 9, "A-101"),
+                lesson(2L, "Evening Seminar", DayOfWeek.SUNDAY, 22, "A-101")), List.of(), List.of());
+
+        List<ScheduleSlotDTO> next = index.next(7L, null, minute(DayOfWeek.SUNDAY, 23, 30), 5);
+
+        assertThat(next).extracting(ScheduleSlotDTO::getTitle, ScheduleSlotDTO::getDay, ScheduleSlotDTO::getMinutesUntil)
+                .containsExactly(
+                        tuple("Math", "Monday", 30 + 9 * 60),
+                        tuple("Evening Seminar", "Sunday", WeekTime.MINUTES_PER_WEEK - 90));
+    }
+
+    @Test
+    void slotStartingRightNowIsNextUpAWeekLater() {
+        load(List.of(lesson(1L, "Math", DayOfWeek.MONDAY, 9, "A-101")), List.of(), List.of());
+        int mondayNine = minute(DayOfWeek.MONDAY, 9, 0);
+
+        assertThat(index.now(7L, null, mondayNine)).extracting(ScheduleSlotDTO::getTitle).containsExactly("Math");
+        assertThat(index.next(7L, null, mondayNine, 1)).extracting(ScheduleSlotDTO::getMinutesUntil)
+                .containsExactly(WeekTime.MINUTES_PER_WEEK);
+    }
+
+    @Test
+    void freeRoomsNearTheEndOfTheWeekSeeNextMondayMorning() {
+        load(List.of(
+                lesson(1L, "Early Math", DayOfWeek.MONDAY, 0, "A-101"),
+                lesson(2L, "Physics", DayOfWeek.WEDNESDAY, 9, "B-202")), List.of(), List.of());
+        int sundayLate = minute(DayOfWeek.SUNDAY, 23, 30);
+
+        assertThat(index.freeRooms(sundayLate, sundayLate + 30)).containsExactly("A-101", "B-202");
+        assertThat(index.freeRooms(sundayLate, sundayLate + 60)).containsExactly("B-202");
+        // Longer than a week is the whole week
+        assertThat(index.freeRooms(sundayLate, sundayLate + 3 * WeekTime.MINUTES_PER_WEEK)).isEmpty();
+    }
+
+    @Test
+    void mealsRepeatEveryDayAndAreRemovedOnEveryDay() {
+        load(List.of(), List.of(
+                new Meal(1L, CS_1, Meal.MealType.lunch, LocalTime.of(12, 0), LocalTime.of(13, 0), null),
+                // With ids mealId * 7 + day, meal 2's Monday (14) sits right after meal 1's Sunday (13)
+                new Meal(2L, CS_1, Meal.MealType.breakfast, LocalTime.of(8, 0), LocalTime.of(9, 0), null)),
+                List.of());
+
+        for (DayOfWeek day : DayOfWeek.values()) {
+            assertThat(index.now(7L, null, minute(day, 12, 30))).extracting(ScheduleSlotDTO::getTitle)
+                    .containsExactly("lunch");
+            assertThat(index.now(7L, null, minute(day, 8, 30))).extracting(ScheduleSlotDTO::getTitle)
+                    .containsExactly("breakfast");
+        }
+
+        index.removeMeal(1L);
+
+        assertThat(index.now(7L, null, minute(DayOfWeek.SUNDAY, 12, 30))).isEmpty();
+        assertThat(index.now(7L, null, minute(DayOfWeek.MONDAY, 8, 30))).extracting(ScheduleSlotDTO::getTitle)
+                .containsExactly("breakfast");
+        assertThat(index.next(7L, null, minute(DayOfWeek.SUNDAY, 9, 0), 7))
+                .extracting(ScheduleSlotDTO::getTitle).containsOnly("breakfast").hasSize(7);
+    }
+
+    @Test
+    void gymHoursAreMatchedByGender() {
+        load(List.of(), List.of(), List.of(
+                new GymSchedule(1L, GymSchedule.Gender.Male, DayOfWeek.SUNDAY, LocalTime.of(18, 0), LocalTime.of(20, 0)),
+                new GymSchedule(2L, GymSchedule.Gender.Female, DayOfWeek.SUNDAY, LocalTime.of(16, 0), LocalTime.of(18, 0))));
+        int sundayEvening = minute(DayOfWeek.SUNDAY, 19, 0);
+
+        assertThat(index.now(null, "Male", sundayEvening)).extracting(ScheduleSlotDTO::getTitle, ScheduleSlotDTO::getDay)
+                .containsExactly(tuple("Gym (Male)", "Sunday"));
+        assertThat(index.now(null, "Female", sundayEvening)).isEmpty();
+    }
+
+    private void load(List<UniversityScheduleDTO> lessons, List<Meal> meals, List<GymSchedule> gym) {
+        when(universityScheduleRepository.findAllAsDTO()).thenReturn(lessons);
+        when(mealRepository.findAll()).thenReturn(meals);
+        when(gymScheduleRepository.findAll()).thenReturn(gym);
+    }
+
+    private static UniversityScheduleDTO lesson(Long id, String course, DayOfWeek day, int hour, String location) {
+        return new UniversityScheduleDTO(id, course, day, LocalTime.of(hour, 0), LocalTime.of(hour, 50), location,
+                7L, "CS-1");
+    }
+
+    private static int minute(DayOfWeek day, int hour, int minute) {
+        return WeekTime.minuteOfWeek(day, LocalTime.of(hour, minute));
+    }
+}
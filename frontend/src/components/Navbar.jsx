@@ -1,7 +1,7 @@
 import { Link, useNavigate, useLocation } from 'react-router-dom';
 import { useEffect, useMemo, useRef } from 'react';
 import { useAuth } from '../context/AuthContext';
-import { getUnreadNotificationCount } from '../services/api';
+import { subscribeNotifications } from '../services/api';
 import anime from 'animejs';
 
 const Navbar = () => {
@@ -30,16 +30,18 @@ const Navbar = () => {
             return;
         }
 
-        getUnreadNotificationCount()
-            .then((res) => {
-                unreadCountRef.current = Number(res.data || 0);
-                // force a repaint by touching the nav style; lightweight state is avoided intentionally
-                if (navRef.current) navRef.current.dataset.unread = String(unreadCountRef.current);
-            })
-            .catch(() => {
-                unreadCountRef.current = 0;
-            });
-    }, [isAuthenticated, location.pathname]);
+        // Pushed by the server instead of re-fetching the count on every route change
+        const setUnread = (count) => {
+            unreadCountRef.current = Math.max(0, count);
+            // force a repaint by touching the nav style; lightweight state is avoided intentionally
+            if (navRef.current) navRef.current.dataset.unread = String(unreadCountRef.current);
+        };
+        return subscribeNotifications((event, data) => {
+            if (event === 'unread_count') setUnread(Number(data.count || 0));
+            else if (event === 'unread_delta') setUnread(unreadCountRef.current + Number(data.delta || 0));
+            else if (event === 'notification' && !data.is_read) setUnread(unreadCountRef.current + 1);
+        });
+    }, [isAuthenticated]);
 
     useEffect(() => {
         if (!navRef.current) return;
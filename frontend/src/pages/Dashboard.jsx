@@ -1,6 +1,6 @@
 import { useEffect, useMemo, useState, useRef } from 'react';
 import { Link } from 'react-router-dom';
-import { getMe, getMyTimetable, getNotifications, getUnreadNotificationCount } from '../services/api';
+import { getMe, getMyTimetable, getNotifications, getUnreadNotificationCount, getScheduleNow, getScheduleNext } from '../services/api';
 import anime from 'animejs';
 import AIChatWidget from '../components/AIChatWidget';
 
@@ -9,6 +9,8 @@ const Dashboard = () => {
     const [timetable, setTimetable] = useState({ entries: [], conflicts: [] });
     const [notifications, setNotifications] = useState([]);
     const [unreadCount, setUnreadCount] = useState(0);
+    const [nowSlots, setNowSlots] = useState([]);
+    const [nextSlot, setNextSlot] = useState(null);
     const [loading, setLoading] = useState(true);
 
     const titleRef = useRef(null);
@@ -38,8 +40,17 @@ const Dashboard = () => {
             }
         };
         load();
+        // Optional strip; the dashboard still renders if these fail
+        getScheduleNow().then((res) => setNowSlots(res.data || [])).catch(() => {});
+        getScheduleNext({ limit: 1 }).then((res) => setNextSlot((res.data || [])[0] || null)).catch(() => {});
     }, []);
 
+    const formatWait = (minutes) => {
+        if (minutes < 60) return `${minutes}m`;
+        if (minutes < 24 * 60) return `${Math.floor(minutes / 60)}h ${minutes % 60}m`;
+        return `${Math.floor(minutes / (24 * 60))}d`;
+    };
+
     useEffect(() => {
         if (!loading) {
             anime({
@@ -162,6 +173,24 @@ const Dashboard = () => {
                             <Link to="/timetable" className="btn btn-outline-light btn-sm">VIEW_ALL</Link>
                         </div>
                         <div className="card-body">
+                            <div className="d-flex flex-wrap gap-3 mb-3">
+                                <div>
+                                    <span className="text-muted">NOW: </span>
+                                    <span className="text-white">
+                                        {nowSlots.length === 0
+                                            ? 'FREE'
+                                            : nowSlots.map((s) => s.title + (s.location ? ` @ ${s.location}` : '')).join(', ')}
+                                    </span>
+                                </div>
+                                {nextSlot && (
+                                    <div>
+                                        <span className="text-muted">NEXT: </span>
+                                        <span className="text-white">
+                                            {nextSlot.title} {nextSlot.start_time} (in {formatWait(nextSlot.minutes_until)})
+                                        </span>
+                                    </div>
+                                )}
+                            </div>
                             {todaysEntries.length === 0 ? (
                                 <div className="text-muted">NO_CLASSES_TODAY</div>
                             ) : (
@@ -4,8 +4,12 @@ import { useNavigate } from 'react-router-dom';
 import { useToast } from '../context/ToastContext';
 import { useModal } from '../context/ModalContext';
 
+const PAGE_SIZE = 100;
+
 const ManageUsers = () => {
     const [users, setUsers] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
+    const [search, setSearch] = useState('');
     const [classes, setClasses] = useState([]);
     const [selectedUser, setSelectedUser] = useState(null);
     const [formData, setFormData] = useState({ email: '', gender: '', student_class: '', is_superuser: false });
@@ -34,8 +38,9 @@ const ManageUsers = () => {
 
     const fetchData = async () => {
         try {
-            const [usersRes, classesRes] = await Promise.all([getUsers(), getStudentClasses()]);
+            const [usersRes, classesRes] = await Promise.all([fetchUsers(), getStudentClasses()]);
             setUsers(usersRes.data);
+            setNextCursor(usersRes.headers['x-next-cursor'] || null);
             setClasses(classesRes.data);
             setLoading(false);
         } catch (err) {
@@ -44,6 +49,34 @@ const ManageUsers = () => {
         }
     };
 
+    const fetchUsers = (cursor) => getUsers({
+        limit: PAGE_SIZE,
+        sort: 'username',
+        q: search.trim() || undefined,
+        cursor: cursor || undefined
+    });
+
+    const handleSearch = async (e) => {
+        e.preventDefault();
+        try {
+            const res = await fetchUsers();
+            setUsers(res.data);
+            setNextCursor(res.headers['x-next-cursor'] || null);
+        } catch (err) {
+            showToast('Error loading users', 'error');
+        }
+    };
+
+    const handleLoadMore = async () => {
+        try {
+            const res = await fetchUsers(nextCursor);
+            setUsers([...users, ...res.data]);
+            setNextCursor(res.headers['x-next-cursor'] || null);
+        } catch (err) {
+            showToast('Error loading users', 'error');
+        }
+    };
+
     const handleDelete = (id) => {
         showConfirm('PERMANENTLY DELETE USER? This cannot be undone.', async () => {
             try {
@@ -100,8 +133,18 @@ const ManageUsers = () => {
                 {/* User List */}
                 <div className="col-12 col-lg-8">
                     <div className="card">
-                        <div className="card-header">
+                        <div className="card-header d-flex justify-content-between align-items-center">
                             <h5 className="mb-0">REGISTERED_PERSONNEL</h5>
+                            <form onSubmit={handleSearch} className="d-flex">
+                                <input
+                                    type="text"
+                                    className="form-control form-control-sm me-2"
+                                    placeholder="username or email"
+                                    value={search}
+                                    onChange={(e) => setSearch(e.target.value)}
+                                />
+                                <button type="submit" className="btn btn-outline-primary btn-sm">SEARCH</button>
+                            </form>
                         </div>
                         <div className="card-body p-0">
                             <div className="table-responsive" style={{ maxHeight: '600px', overflowY: 'auto' }}>
@@ -144,6 +187,13 @@ const ManageUsers = () => {
                                     </tbody>
                                 </table>
                             </div>
+                            {nextCursor && (
+                                <div className="text-center p-2">
+                                    <button onClick={handleLoadMore} className="btn btn-outline-primary btn-sm">
+                                        LOAD_MORE
+                                    </button>
+                                </div>
+                            )}
                         </div>
                     </div>
                 </div>
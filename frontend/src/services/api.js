@@ -73,7 +73,8 @@ export const createStudentClass = (data) => api.post('student-classes/', data);
 export const deleteStudentClass = (id) => api.delete(`student-classes/${id}/`);
 
 // User Management (Admin)
-export const getUsers = () => api.get('users/');
+// Pass { limit, cursor, q, sort, ... } for one page; the next cursor comes back in X-Next-Cursor
+export const getUsers = (params) => api.get('users/', { params });
 export const deleteUser = (id) => api.delete(`users/${id}/`);
 export const updateUser = (id, data) => api.patch(`users/${id}/`, data);
 
@@ -91,6 +92,9 @@ export const createGymSchedule = (data) => api.post('/gym/', data);
 export const deleteGymSchedule = (id) => api.delete(`/gym/${id}/`);
 
 export const getClasses = (params) => api.get('/classes/', { params });
+export const getScheduleNow = (params) => api.get('/schedule/now/', { params });
+export const getScheduleNext = (params) => api.get('/schedule/next/', { params });
+export const getFreeRooms = (params) => api.get('/schedule/free-rooms/', { params });
 export const createClass = (data) => api.post('/classes/', data);
 export const deleteClass = (id) => api.delete(`/classes/${id}/`);
 
@@ -104,5 +108,56 @@ export const getNotifications = () => api.get('/notifications/');
 export const getUnreadNotificationCount = () => api.get('/notifications/unread-count/');
 export const markNotificationRead = (id) => api.post(`/notifications/${id}/read/`);
 export const markAllNotificationsRead = () => api.post('/notifications/read-all/');
+export const dismissNotification = (id) => api.post(`/notifications/${id}/dismiss/`);
+
+// Live notification stream (Server-Sent Events). Uses fetch because EventSource cannot send the
+// Authorization header. Calls onEvent(name, data) and reconnects until the returned function is called.
+export const subscribeNotifications = (onEvent) => {
+    const controller = new AbortController();
+    let retryTimer = null;
+
+    const connect = async () => {
+        try {
+            const res = await fetch(`${API_URL}/notifications/stream/`, {
+                headers: {
+                    Accept: 'text/event-stream',
+                    Authorization: `Bearer ${localStorage.getItem('access_token') || ''}`,
+                },
+                signal: controller.signal,
+            });
+            if (!res.ok || !res.body) throw new Error(`stream status ${res.status}`);
+
+            const reader = res.body.getReader();
+            const decoder = new TextDecoder();
+            let buffer = '';
+            for (;;) {
+                const { value, done } = await reader.read();
+                if (done) break;
+                buffer += decoder.decode(value, { stream: true });
+                let sep;
+                while ((sep = buffer.indexOf('\n\n')) >= 0) {
+                    const block = buffer.slice(0, sep);
+                    buffer = buffer.slice(sep + 2);
+                    let name = 'message';
+                    const data = [];
+                    block.split('\n').forEach((line) => {
+                        if (line.startsWith('event:')) name = line.slice(6).trim();
+                        else if (line.startsWith('data:')) data.push(line.slice(5));
+                    });
+                    if (data.length) onEvent(name, JSON.parse(data.join('\n')));
+                }
+            }
+        } catch (e) {
+            if (controller.signal.aborted) return;
+        }
+        if (!controller.signal.aborted) retryTimer = setTimeout(connect, 5000);
+    };
+
+    connect();
+    return () => {
+        controller.abort();
+        clearTimeout(retryTimer);
+    };
+};
 
 export default api;